@@ -0,0 +1,113 @@
+package AB1;
+
+import AB1.Interfaces.Font;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code BrailleFontRegistry} class provides shared, read-only fonts, one per configuration (height, width, dot
+ * symbol and space symbol).
+ *
+ * <p>Fonts are created on first request and reused afterwards, so their bitmaps are calculated only once. All fonts
+ * use the registry's single {@code BrailleEncoder}. A registry font wraps a {@code BrailleFont} that is never handed
+ * out: its {@code getBitmap()} returns a copy of the bitmap, so a caller modifying a bitmap can not change the font
+ * used by other printers. Fonts can be shared between threads safely, as their state is held in final fields and
+ * never modified after construction.</p>
+ */
+public final class BrailleFontRegistry {
+    private static final BrailleEncoder encoder = new BrailleEncoder();
+    private static final ConcurrentHashMap<FontKey, Font> fonts = new ConcurrentHashMap<>();
+
+    private BrailleFontRegistry() {
+    }
+
+    /**
+     * Retrieves the shared font for the given configuration, creating it if it does not exist yet.
+     *
+     * @param height      number of lines of font's characters (bitmap height)
+     * @param width       number of columns of font's characters (bitmap width)
+     * @param dotSymbol   the character used to represent a filled cell (dot) within a character's bitmap.
+     * @param spaceSymbol the character used to represent an empty cell (space) within a character's bitmap.
+     * @return the read-only font for the given configuration.
+     */
+    public static Font getFont(int height, int width, char dotSymbol, char spaceSymbol) {
+        return fonts.computeIfAbsent(new FontKey(height, width, dotSymbol, spaceSymbol), key -> new ReadOnlyFont(
+                new BrailleFont(key.height, key.width, key.dotSymbol, key.spaceSymbol, encoder)));
+    }
+
+    /**
+     * Retrieves the shared encoder used by all fonts of the registry.
+     *
+     * @return the encoder.
+     */
+    public static BrailleEncoder getEncoder() {
+        return encoder;
+    }
+
+    /**
+     * Font that hands out copies of the bitmaps of a wrapped {@code BrailleFont}.
+     */
+    private static final class ReadOnlyFont implements Font {
+        private final BrailleFont font;
+
+        private ReadOnlyFont(BrailleFont font) {
+            this.font = font;
+        }
+
+        /**
+         * Retrieves a copy of the bitmap of a given ASCII character, see {@code BrailleFont.getBitmap()}.
+         *
+         * @param character the ASCII character for which a printable character will be returned.
+         * @return a new bitmap ({@code char[][]}), which may be modified by the caller.
+         */
+        @Override
+        public char[][] getBitmap(char character) {
+            char[][] bitmap = font.getBitmap(character);
+            char[][] copy = new char[bitmap.length][];
+            for (int row = 0; row < bitmap.length; row++)
+                copy[row] = bitmap[row].clone();
+            return copy;
+        }
+
+        @Override
+        public int getHeight() {
+            return font.getHeight();
+        }
+
+        @Override
+        public int getWidth() {
+            return font.getWidth();
+        }
+    }
+
+    /**
+     * Key of a font configuration.
+     */
+    private static final class FontKey {
+        private final int height;
+        private final int width;
+        private final char dotSymbol;
+        private final char spaceSymbol;
+
+        private FontKey(int height, int width, char dotSymbol, char spaceSymbol) {
+            this.height = height;
+            this.width = width;
+            this.dotSymbol = dotSymbol;
+            this.spaceSymbol = spaceSymbol;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof FontKey))
+                return false;
+            FontKey key = (FontKey) other;
+            return height == key.height && width == key.width && dotSymbol == key.dotSymbol && spaceSymbol == key.spaceSymbol;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(height, width, dotSymbol, spaceSymbol);
+        }
+    }
+}
@@ -39,6 +39,25 @@ public class LinePrinter {
         createLineBuffer(lineLength, font.getHeight(), font.getWidth());
     }
 
+    /**
+     * Constructs a LinePrinter for rendering printable Braille text with the shared font of the given configuration
+     * (see {@code BrailleFontRegistry}), so the font's bitmaps are not calculated again for each printer.
+     *
+     * @param height      number of lines of font's characters (bitmap height)
+     *                    <p>Precondition: height > 0</p>
+     * @param width       number of columns of font's characters (bitmap width)
+     *                    <p>Precondition: width > 0</p>
+     * @param dotSymbol   the character used to represent a filled cell (dot) within a character's bitmap.
+     * @param spaceSymbol the character used to represent an empty cell (space) within a character's bitmap.
+     * @param lineLength  the maximum number of Braille characters the line buffer can hold.
+     *                    <p>Precondition: lineLength > 0</p>
+     * @param spacing     the number of blank screen spaces (ASCII columns) between Braille characters (bitmaps).
+     *                    <p>Precondition: spacing > 0 </p>
+     */
+    public LinePrinter(int height, int width, char dotSymbol, char spaceSymbol, int lineLength, int spacing) {
+        this(BrailleFontRegistry.getFont(height, width, dotSymbol, spaceSymbol), lineLength, spacing);
+    }
+
     /**
      * Creates the line buffer for printing Braille text with specified dimensions and spacing, and
      * resets the cursor position to 0.
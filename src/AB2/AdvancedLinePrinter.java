@@ -3,6 +3,8 @@ package AB2;
 import AB2.Interfaces.Font;
 import AB2.Interfaces.LineBuffer;
 
+import java.util.function.Consumer;
+
 /**
  * The AdvancedLinePrinter class is designed to render Braille text representations to standard output
  * using an auto-scaling memory efficient line buffer and a customizable font.
@@ -12,6 +14,8 @@ import AB2.Interfaces.LineBuffer;
  * <p>The line buffer can also be modified by inserting and deleting characters at specified positions.
  * It can be sent to the system's standard output (console) at any time by calling the {@code flush()} method,
  * which also clears the line buffer.</p>
+ * <p>Instead of the standard output, the rendered scanlines can be passed to any other output (see
+ * {@code BraillePrintService}).</p>
  */
 public class AdvancedLinePrinter {
     /*
@@ -27,6 +31,7 @@ public class AdvancedLinePrinter {
 
     // TODO: your variables go here
     private int spacing;
+    private final Consumer<String[]> output;      // receives the rendered scanlines on flush()
 
     /**
      * Constructs an AdvancedLinePrinter for processing printable Braille text.
@@ -39,9 +44,52 @@ public class AdvancedLinePrinter {
      *                   <p>Precondition: ( lineBuffer != null )</p>
      */
     public AdvancedLinePrinter(Font font, int spacing, LineBuffer lineBuffer) {
+        this(font, spacing, lineBuffer, AdvancedLinePrinter::printToConsole);
+    }
+
+    /**
+     * Constructs an AdvancedLinePrinter for processing printable Braille text with the shared font of the given
+     * configuration (see {@code BrailleFontRegistry}), so the font's bitmaps are not calculated again for each printer.
+     *
+     * @param height      number of lines of font's characters (bitmap height)
+     *                    <p>Precondition: ( height > 0 )</p>
+     * @param width       number of columns of font's characters (bitmap width)
+     *                    <p>Precondition: ( width > 0 )</p>
+     * @param dotSymbol   the character used to represent a filled cell (dot) within a character's bitmap.
+     * @param spaceSymbol the character used to represent an empty cell (space) within a character's bitmap.
+     * @param spacing     the number of blank screen spaces (ASCII columns) between Braille characters (bitmaps).
+     *                    <p>Precondition: ( spacing >= 0) </p>
+     * @param lineBuffer  a lineBuffer used by the AdvancedLinePrinter
+     *                    <p>Precondition: ( lineBuffer != null )</p>
+     */
+    public AdvancedLinePrinter(int height, int width, char dotSymbol, char spaceSymbol, int spacing,
+                               LineBuffer lineBuffer) {
+        this(BrailleFontRegistry.getFont(height, width, dotSymbol, spaceSymbol), spacing, lineBuffer);
+    }
+
+    /**
+     * Constructs an AdvancedLinePrinter for processing printable Braille text, which passes flushed lines to the
+     * given output instead of the standard output.
+     *
+     * @param font       the font that defines the printable representation for characters.
+     *                   <p>Precondition: ( font != null )</p>
+     * @param spacing    the number of blank screen spaces (ASCII columns) between Braille characters (bitmaps).
+     *                   <p>Precondition: ( spacing >= 0) </p>
+     * @param lineBuffer a lineBuffer used by the AdvancedLinePrinter
+     *                   <p>Precondition: ( lineBuffer != null )</p>
+     * @param output     receives all scanlines of a line at once, each time the printer is flushed.
+     *                   <p>Precondition: ( output != null )</p>
+     */
+    public AdvancedLinePrinter(Font font, int spacing, LineBuffer lineBuffer, Consumer<String[]> output) {
         this.lineBuffer = lineBuffer;
         this.font = font;
         this.spacing = spacing;
+        this.output = output;
+    }
+
+    private static void printToConsole(String[] lines) {
+        for (String line : lines)
+            System.out.println(line);
     }
 
     /**
@@ -90,14 +138,13 @@ public class AdvancedLinePrinter {
 
     /**
      * Method flushes the content of the line buffer by printing each row to the standard output (console),
-     * and then clearing the buffer.
+     * or the output given at construction time, and then clearing the buffer.
      */
     public void flush() {
         String[] lines = lineBuffer.renderScanlines(getSpacing());
         if (lines == null)
             return;
-        for (String line : lines)
-            System.out.println(line);
+        output.accept(lines);
         clearLine();
     }
 
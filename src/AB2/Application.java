@@ -5,7 +5,7 @@ import AB2.Interfaces.LineBuffer;
 /**
  * The Application class serves as the entry point to the program.
  * <p>This class is used to test and demonstrate the functionality of printing text in Braille format
- * using the AdvancedLinePrinter, configured with a BrailleLineBuffer, a BrailleFont and a BrailleEncoder.</p>
+ * using the AdvancedLinePrinter, configured with a BrailleLineBuffer and a shared BrailleFont of the BrailleFontRegistry.</p>
  * <p>Any implementation is not subject to examination and assessment by the EP2-Team, but serves as
  * free test hub for students.</p>
  */
@@ -14,16 +14,7 @@ public class Application {
         String[] result = new String[5];
         // example from documentation
         LineBuffer lineBuffer = new BrailleLineBuffer(3, 1.5, 0.3);
-        AdvancedLinePrinter lp = new AdvancedLinePrinter(
-                new BrailleFont(
-                        3,
-                        2,
-                        'o',
-                        '.',
-                        new BrailleEncoder()),
-                4,
-                lineBuffer
-        );
+        AdvancedLinePrinter lp = new AdvancedLinePrinter(3, 2, 'o', '.', 4, lineBuffer);
 
         System.out.printf("buffer size: %d,  characters in buffer: %d%n", lineBuffer.size(), lineBuffer.count());
         lp.printString("Hello");
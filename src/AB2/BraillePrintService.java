@@ -0,0 +1,147 @@
+package AB2;
+
+import AB2.Interfaces.Font;
+
+import java.io.PrintStream;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The {@code BraillePrintService} class lets many clients (sessions) print Braille text concurrently to one shared
+ * output stream.
+ *
+ * <p>Each session is an {@code AdvancedLinePrinter} with its own {@code BrailleLineBuffer}, so sessions never share
+ * mutable state. When a session is flushed, its rendered scanlines are put into a lock-free queue as one block.
+ * A single writer thread takes the blocks from the queue and writes them to the output, so the scanlines of a
+ * line are never interleaved with those of other sessions, and no lock is shared by the sessions.</p>
+ * <p>A session itself must only be used by one thread at a time. The shared font must not be modified, which holds
+ * for fonts from the {@code BrailleFontRegistry}.</p>
+ */
+public final class BraillePrintService implements AutoCloseable {
+    private static final int INITIAL_BUFFER_SIZE = 16;
+    private static final double GROWTH_FACTOR = 1.5;
+    private static final double REDUCTION_RATIO = 0.3;
+
+    private final Font font;
+    private final int spacing;
+    private final PrintStream out;
+
+    private final ConcurrentLinkedQueue<String[]> queue = new ConcurrentLinkedQueue<>();
+    private final Thread writer;
+    private volatile boolean closed = false;
+
+    /**
+     * Constructs a {@code BraillePrintService} and starts its writer thread.
+     *
+     * @param font    the font shared by all sessions.
+     *                <p>Precondition: ( font != null )</p>
+     * @param spacing the number of blank screen spaces (ASCII columns) between Braille characters (bitmaps).
+     *                <p>Precondition: ( spacing >= 0) </p>
+     * @param out     the output stream all sessions print to.
+     *                <p>Precondition: ( out != null )</p>
+     */
+    public BraillePrintService(Font font, int spacing, PrintStream out) {
+        this.font = font;
+        this.spacing = spacing;
+        this.out = out;
+        writer = new Thread(this::writeLines, "braille-print-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Constructs a {@code BraillePrintService} using the shared font of the given configuration (see
+     * {@code BrailleFontRegistry}) and starts its writer thread.
+     *
+     * @param height      number of lines of font's characters (bitmap height)
+     *                    <p>Precondition: ( height > 0 )</p>
+     * @param width       number of columns of font's characters (bitmap width)
+     *                    <p>Precondition: ( width > 0 )</p>
+     * @param dotSymbol   the character used to represent a filled cell (dot) within a character's bitmap.
+     * @param spaceSymbol the character used to represent an empty cell (space) within a character's bitmap.
+     * @param spacing     the number of blank screen spaces (ASCII columns) between Braille characters (bitmaps).
+     *                    <p>Precondition: ( spacing >= 0) </p>
+     * @param out         the output stream all sessions print to.
+     *                    <p>Precondition: ( out != null )</p>
+     */
+    public BraillePrintService(int height, int width, char dotSymbol, char spaceSymbol, int spacing, PrintStream out) {
+        this(BrailleFontRegistry.getFont(height, width, dotSymbol, spaceSymbol), spacing, out);
+    }
+
+    /**
+     * Opens a new session, a printer with its own line buffer whose flushed lines are written by the service.
+     *
+     * <p>A session opened while the service is being closed is like a session opened before: flushing it throws an
+     * {@code IllegalStateException} (see {@code enqueue()}).</p>
+     *
+     * @return the printer of the new session.
+     * @throws IllegalStateException if the service is closed.
+     */
+    public AdvancedLinePrinter openSession() {
+        if (closed)
+            throw new IllegalStateException("print service is closed");
+        AdvancedLinePrinter session = new AdvancedLinePrinter(font, spacing,
+                new BrailleLineBuffer(INITIAL_BUFFER_SIZE, GROWTH_FACTOR, REDUCTION_RATIO), this::enqueue);
+        if (closed)
+            throw new IllegalStateException("print service is closed");
+        return session;
+    }
+
+    /**
+     * Puts the scanlines of a flushed line into the queue and wakes up the writer thread.
+     *
+     * <p>A line is either written by the writer thread or rejected, never lost silently: if the service was closed
+     * while the line was put into the queue, the line is taken out again unless the writer thread has already taken
+     * it (and writes it before {@code close()} returns).</p>
+     *
+     * @param lines the scanlines of one line.
+     * @throws IllegalStateException if the service is closed; the session keeps the line in its buffer.
+     */
+    private void enqueue(String[] lines) {
+        if (closed)
+            throw new IllegalStateException("print service is closed");
+        queue.offer(lines);
+        if (closed && queue.remove(lines))
+            throw new IllegalStateException("print service is closed");
+        LockSupport.unpark(writer);
+    }
+
+    /**
+     * Main loop of the writer thread. Writes all queued lines and parks while the queue is empty, until the service
+     * is closed and all lines are written.
+     */
+    private void writeLines() {
+        while (true) {
+            String[] lines = queue.poll();
+            if (lines != null) {
+                for (String line : lines)
+                    out.println(line);
+            } else if (closed) {
+                if (queue.isEmpty())
+                    break;
+            } else {
+                out.flush();
+                LockSupport.park(this);
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Closes the service. Lines flushed before are written completely before this method returns; afterwards opening
+     * a session or flushing a session throws an {@code IllegalStateException}.
+     *
+     * <p>If the current thread is interrupted while waiting for the writer thread, this method returns early with the
+     * interrupt status set; the writer thread still writes the remaining lines.</p>
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package AB3;
+
+import AB3.Provided.BrailleEncoder;
+
+/**
+ * The {@code AdvancedBrailleEncoder} class extends the provided {@code BrailleEncoder}, which encodes the lower case
+ * letters 'a' to 'z' only, to digits, punctuation, capital letters, 8-dot cells (computer Braille) and Unicode
+ * Braille patterns.
+ *
+ * <p>Capital letters are preceded by the capital sign, digits are written as the letters 'a' to 'j' preceded by the
+ * number sign. All characters are encoded via the lookup table {@code cellLUT}, which holds up to two cells per ASCII
+ * character. The cells of the letters are taken from the provided encoder.</p>
+ */
+public class AdvancedBrailleEncoder extends BrailleEncoder {
+
+    /**
+     * Maximum number of cells a single ASCII character is encoded into.
+     */
+    public static final int MAX_CELLS_PER_CHARACTER = 2;
+
+    /**
+     * Number sign (dots 3456), switches to digits for the following letters 'a' to 'j'.
+     */
+    public static final byte NUMBER_SIGN = 0b111100;
+
+    /**
+     * Capital sign (dot 6), marks the following letter as capital letter.
+     */
+    public static final byte CAPITAL_SIGN = 0b100000;
+
+    /**
+     * Letter sign (dots 56), ends the digits of a number if a letter from 'a' to 'j' follows immediately. In grade 2
+     * Braille, it marks the following letters of a word as letters, which are not read as contractions (see
+     * {@code BrailleContractionDecoder}).
+     */
+    public static final byte LETTER_SIGN = 0b110000;
+
+    /**
+     * Height of an 8-dot cell (computer Braille). 6-dot cells have a height of 3, both have a width of 2.
+     */
+    public static final int COMPUTER_CELL_HEIGHT = 4;
+
+    /**
+     * Dot 7 (bottom row, left column) of an 8-dot cell, added to capital letters in computer Braille.
+     */
+    private static final int DOT_7 = 0b01000000;
+
+    /**
+     * Dot 8 (bottom row, right column) of an 8-dot cell, added to digits in computer Braille.
+     */
+    private static final int DOT_8 = 0b10000000;
+
+    /**
+     * First character of the Unicode block for Braille patterns (U+2800, the empty cell). The pattern of a cell is
+     * added to this character, as the block uses the same dot-to-bit layout as the Braille binary representation.
+     */
+    public static final char UNICODE_BLANK = '\u2800';
+
+    /**
+     * Punctuation characters supported by the encoder, in the order of {@code punctuationLUT}.
+     */
+    public static final String PUNCTUATION = ",;:.!?'-";
+
+    /**
+     * Lookup table for punctuation, index corresponds to the character's index within {@code PUNCTUATION}.
+     */
+    private static final byte[] punctuationLUT = {
+            0b000010, 0b000110, 0b010010, 0b110010,             // , ; : .
+            0b010110, 0b100110, 0b000100, 0b100100              // ! ? ' -
+    };
+
+    /**
+     * Lookup table for all ASCII characters, indexed by the character's code.
+     * <p>Each entry packs the cells of a character: the first cell in bits 0-7, the second cell in bits 8-15 and the
+     * number of cells in bits 16-23. Unsupported characters are encoded as white space (one empty cell).</p>
+     */
+    private static final int[] cellLUT = new int[128];
+
+    /**
+     * Lookup table for single cell encoding of all ASCII characters, indexed by the character's code.
+     * <p>Capital letters share the cell of their lower case letter, unsupported characters and digits are mapped to
+     * white space.</p>
+     */
+    private static final byte[] singleCellLUT = new byte[128];
+
+    /**
+     * Marks the cells of the letters 'a' to 'j', which are read as digits after a number sign, indexed by the cell.
+     */
+    private static final boolean[] digitCells = new boolean[64];
+
+    /**
+     * Marks the cells of the letters 'a' to 'z', indexed by the cell.
+     */
+    private static final boolean[] letterCells = new boolean[64];
+
+    /**
+     * Lookup table for computer Braille, which maps each byte value one-to-one to an 8-dot cell.
+     * <p>Lower case letters, punctuation and white space keep their 6-dot cells, capital letters add dot 7 and
+     * digits add dot 8 to the cell of their letter ('a' to 'j'). All remaining byte values are assigned the
+     * remaining cells in ascending order.</p>
+     */
+    private static final byte[] computerLUT = new byte[256];
+
+    static {
+        BrailleEncoder letters = new BrailleEncoder();      // the provided encoder, valid for 'a' to 'z' only
+        for (int i = 0; i < cellLUT.length; i++)
+            cellLUT[i] = pack(1, 0, 0);
+        for (char character = 'a'; character <= 'z'; character++) {
+            byte brailleCharBin = letters.toBinary(character);
+            cellLUT[character] = pack(1, brailleCharBin, 0);
+            cellLUT[Character.toUpperCase(character)] = pack(2, CAPITAL_SIGN, brailleCharBin);
+            singleCellLUT[character] = brailleCharBin;
+            singleCellLUT[Character.toUpperCase(character)] = brailleCharBin;
+            letterCells[brailleCharBin] = true;
+        }
+        for (char digit = '0'; digit <= '9'; digit++) {
+            // digits 1-9 correspond to the letters a-i, digit 0 corresponds to letter j
+            cellLUT[digit] = pack(2, NUMBER_SIGN, letters.toBinary((char) ('a' + (digit - '1' + 10) % 10)));
+            digitCells[cellLUT[digit] >>> 8 & 0xFF] = true;
+        }
+        for (int i = 0; i < PUNCTUATION.length(); i++) {
+            cellLUT[PUNCTUATION.charAt(i)] = pack(1, punctuationLUT[i], 0);
+            singleCellLUT[PUNCTUATION.charAt(i)] = punctuationLUT[i];
+        }
+
+        boolean[] assigned = new boolean[computerLUT.length];     // byte values with a cell
+        boolean[] used = new boolean[computerLUT.length];         // cells assigned to a byte value
+        for (int value = 0; value < singleCellLUT.length; value++) {
+            int cell = -1;
+            if (value == ' ' || (value >= 'a' && value <= 'z') || PUNCTUATION.indexOf(value) >= 0)
+                cell = singleCellLUT[value];
+            else if (value >= 'A' && value <= 'Z')
+                cell = singleCellLUT[value] | DOT_7;
+            else if (value >= '0' && value <= '9')
+                cell = (cellLUT[value] >>> 8 & 0xFF) | DOT_8;
+            if (cell >= 0) {
+                computerLUT[value] = (byte) cell;
+                assigned[value] = true;
+                used[cell] = true;
+            }
+        }
+        int cell = 0;
+        for (int value = 0; value < computerLUT.length; value++) {
+            if (assigned[value])
+                continue;
+            while (used[cell])
+                cell++;
+            computerLUT[value] = (byte) cell;
+            used[cell] = true;
+        }
+    }
+
+    /**
+     * Retrieves the bit of the Braille binary representation that corresponds to a dot of a cell's bitmap.
+     * <p>Dots 1-3 (left column, top to bottom) are mapped to bits 0-2, dots 4-6 (right column) to bits 3-5.
+     * The fourth row of an 8-dot cell holds dot 7 (bit 6, left) and dot 8 (bit 7, right).</p>
+     *
+     * @param row    the zero-based row of the dot within the bitmap.
+     * @param column the zero-based column of the dot within the bitmap.
+     * @return the bit index, or {@code -1} if the position is outside of an 8-dot cell.
+     */
+    public static int dotBit(int row, int column) {
+        if (row < 0 || row >= COMPUTER_CELL_HEIGHT || column < 0 || column > 1)
+            return -1;
+        return row < COMPUTER_CELL_HEIGHT - 1 ? column * (COMPUTER_CELL_HEIGHT - 1) + row : 6 + column;
+    }
+
+    private static int pack(int count, int first, int second) {
+        return (count << 16) | ((second & 0xFF) << 8) | (first & 0xFF);
+    }
+
+    /**
+     * Encodes a given ASCII character into a single Braille cell.
+     * <p>Letters are encoded like by the provided encoder, capital letters like their lower case letters (without the
+     * capital sign) and punctuation (see {@code PUNCTUATION}) into its cell. All other characters, including digits,
+     * are encoded as white space ({@code 0b000000}); see {@code encode()} for characters that require prefixes.</p>
+     *
+     * @param asciiChar any character.
+     * @return the 6-bit pattern of the character's cell.
+     */
+    @Override
+    public byte toBinary(char asciiChar) {
+        return asciiChar < singleCellLUT.length ? singleCellLUT[asciiChar] : 0;
+    }
+
+    /**
+     * Encodes a single ASCII character into one or more Braille cells. Capital letters and digits are written with
+     * their prefix (capital sign or number sign), see {@code encode(CharSequence, byte[], int)} for encoding text.
+     *
+     * @param asciiChar an ASCII character. Unsupported characters are encoded as white space.
+     * @param target    the array the cells are written to.
+     *                  <p>Precondition: target has space for {@code MAX_CELLS_PER_CHARACTER} cells at {@code offset}</p>
+     * @param offset    the index of the first cell within {@code target}.
+     * @return the number of cells written.
+     */
+    public int encode(char asciiChar, byte[] target, int offset) {
+        int packed = cellLUT[asciiChar < cellLUT.length ? asciiChar : ' '];
+        int count = packed >>> 16;
+        target[offset] = (byte) packed;
+        if (count > 1)
+            target[offset + 1] = (byte) (packed >>> 8);
+        return count;
+    }
+
+    /**
+     * Encodes a text into Braille cells.
+     * <p>The number sign is written once at the beginning of a sequence of digits. If such a sequence is
+     * followed immediately by a lower case letter from 'a' to 'j', the letter sign is inserted, so that the letter
+     * is not read as digit.</p>
+     *
+     * @param text   the ASCII text to be encoded.
+     *               <p>Precondition: ( text != null )</p>
+     * @param target the array the cells are written to.
+     *               <p>Precondition: target has space for {@code text.length() * MAX_CELLS_PER_CHARACTER} cells
+     *               at {@code offset}</p>
+     * @param offset the index of the first cell within {@code target}.
+     * @return the number of cells written.
+     */
+    public int encode(CharSequence text, byte[] target, int offset) {
+        return encode(text, 0, text.length(), target, offset);
+    }
+
+    /**
+     * Encodes a part of a text into Braille cells, like {@code encode(CharSequence, byte[], int)}. The part is encoded
+     * on its own, so a sequence of digits at its beginning starts with a number sign.
+     *
+     * @param text   the ASCII text to be encoded.
+     *               <p>Precondition: ( text != null )</p>
+     * @param from   the index of the first character within {@code text}.
+     * @param to     the index after the last character within {@code text}.
+     * @param target the array the cells are written to.
+     *               <p>Precondition: target has space for {@code (to - from) * MAX_CELLS_PER_CHARACTER} cells
+     *               at {@code offset}</p>
+     * @param offset the index of the first cell within {@code target}.
+     * @return the number of cells written.
+     */
+    public int encode(CharSequence text, int from, int to, byte[] target, int offset) {
+        int position = offset;
+        boolean numberMode = false;
+        for (int i = from; i < to; i++) {
+            char character = text.charAt(i);
+            boolean digit = isDigit(character);
+            if (digit && numberMode) {
+                target[position++] = (byte) (cellLUT[character] >>> 8);
+                continue;
+            }
+            if (numberMode && character >= 'a' && character <= 'j')
+                target[position++] = LETTER_SIGN;
+            numberMode = digit;
+            position += encode(character, target, position);
+        }
+        return position - offset;
+    }
+
+    /**
+     * Retrieves the number of cells {@code encode(CharSequence, byte[], int)} writes for the character at the given
+     * index of a text, including a number sign or letter sign written in front of it.
+     *
+     * @param text  the ASCII text.
+     *              <p>Precondition: ( text != null )</p>
+     * @param index the index of the character within {@code text}.
+     *              <p>Precondition: ( index >= 0 ) && ( index < text.length() )</p>
+     * @return the number of cells of the character.
+     */
+    public int cellCount(CharSequence text, int index) {
+        char character = text.charAt(index);
+        boolean numberMode = index > 0 && isDigit(text.charAt(index - 1));
+        if (numberMode && isDigit(character))
+            return 1;
+        int count = cellLUT[character < cellLUT.length ? character : ' '] >>> 16;
+        return numberMode && character >= 'a' && character <= 'j' ? count + 1 : count;
+    }
+
+    /**
+     * Checks whether a character is an ASCII digit, which is written in number mode.
+     *
+     * @param character the character.
+     * @return {@code true} for the digits '0' to '9', {@code false} otherwise.
+     */
+    static boolean isDigit(char character) {
+        return character >= '0' && character <= '9';
+    }
+
+    /**
+     * Checks whether a cell is read as a digit when it follows a number sign or another digit.
+     *
+     * @param brailleCharBin the 6-bit pattern of the cell.
+     * @return {@code true} for the cells of the letters 'a' to 'j', {@code false} otherwise.
+     */
+    static boolean isDigitCell(byte brailleCharBin) {
+        return digitCells[brailleCharBin & (digitCells.length - 1)];
+    }
+
+    /**
+     * Checks whether a cell is the cell of a letter.
+     *
+     * @param brailleCharBin the 6-bit pattern of the cell.
+     * @return {@code true} for the cells of the letters 'a' to 'z', {@code false} otherwise.
+     */
+    static boolean isLetterCell(byte brailleCharBin) {
+        return letterCells[brailleCharBin & (letterCells.length - 1)];
+    }
+
+    /**
+     * Encodes a byte value into its 8-dot cell (computer Braille). The mapping is one-to-one, see
+     * {@code computerLUT}.
+     *
+     * @param value the byte value to be encoded, e.g. an ISO-8859-1 character.
+     * @return the 8-bit pattern of the cell.
+     */
+    public byte toComputerBraille(byte value) {
+        return computerLUT[value & 0xFF];
+    }
+
+    /**
+     * Encodes a sequence of bytes into 8-dot cells (computer Braille), one cell per byte.
+     *
+     * @param source the bytes to be encoded.
+     * @param from   the index of the first byte within {@code source}.
+     * @param to     the index after the last byte within {@code source}.
+     * @param target the array the cells are written to, may be {@code source} for in-place encoding.
+     *               <p>Precondition: target has space for {@code to - from} cells at {@code offset}</p>
+     * @param offset the index of the first cell within {@code target}.
+     */
+    public void transcode(byte[] source, int from, int to, byte[] target, int offset) {
+        for (int i = from; i < to; i++)
+            target[offset + i - from] = computerLUT[source[i] & 0xFF];
+    }
+
+    /**
+     * Converts the Braille binary representation of a cell into its Unicode Braille pattern.
+     *
+     * @param brailleCharBin the 6-bit pattern (or 8-bit pattern) of the cell.
+     * @return the character of the Unicode Braille pattern block (U+2800 to U+28FF) showing the cell.
+     */
+    public static char toUnicode(byte brailleCharBin) {
+        return (char) (UNICODE_BLANK + (brailleCharBin & 0xFF));
+    }
+
+    /**
+     * Encodes a text into Unicode Braille patterns, one character per cell (see {@code encode(CharSequence, byte[],
+     * int)}).
+     *
+     * @param text   the ASCII text to be encoded.
+     *               <p>Precondition: ( text != null )</p>
+     * @param cells  an array used to hold the cells during encoding.
+     *               <p>Precondition: cells.length >= text.length() * MAX_CELLS_PER_CHARACTER</p>
+     * @param target the array the Unicode characters are written to.
+     *               <p>Precondition: target has space for {@code text.length() * MAX_CELLS_PER_CHARACTER}
+     *               characters at {@code offset}</p>
+     * @param offset the index of the first character within {@code target}.
+     * @return the number of characters written.
+     */
+    public int encodeUnicode(CharSequence text, byte[] cells, char[] target, int offset) {
+        int count = encode(text, cells, 0);
+        for (int i = 0; i < count; i++)
+            target[offset + i] = (char) (UNICODE_BLANK + (cells[i] & 0xFF));
+        return count;
+    }
+}
@@ -0,0 +1,125 @@
+package AB3;
+
+import AB3.Provided.BrailleFont;
+
+/**
+ * The {@code AdvancedBrailleFont} class extends the provided {@code BrailleFont}, which holds bitmaps of the lower
+ * case letters and the white space only, to punctuation, arbitrary cells (e.g. contractions and prefixes) and 8-dot
+ * cells (computer Braille).
+ *
+ * <p>All bitmaps are calculated from the Braille binary representations at construction time and never modified
+ * afterwards. The getters return copies of the bitmaps, so a font can be shared by many callers and threads (see
+ * {@code BrailleFontRegistry}) without any caller being able to change the bitmaps of the others.</p>
+ */
+public class AdvancedBrailleFont extends BrailleFont {
+
+    /**
+     * A 3-dimensional array containing printable Braille cells (bitmaps) for all 64 binary representations (256 for
+     * fonts of at least 4 lines, which show 8-dot cells), indexed by the pattern of the cell.
+     */
+    private final char[][][] cells;       // bitmaps for all 6-bit (8-bit) patterns
+
+    /**
+     * Bitmaps of the ASCII characters, indexed by the character's code. Capital letters share the bitmap of their
+     * lower case letter, unsupported characters the bitmap of the white space.
+     */
+    private final char[][][] characters;
+
+    /**
+     * Bitmaps of all byte values in computer Braille (8-dot cells), indexed by the byte value. Entries are only
+     * available for fonts of at least 4 lines, see {@code AdvancedBrailleEncoder.toComputerBraille()}.
+     */
+    private final char[][][] computerCharacters;
+
+
+    /**
+     * Constructs an {@code AdvancedBrailleFont} object and calculates the font's bitmaps.
+     *
+     * @param height      number of lines of font's characters (bitmap height)
+     * @param width       number of columns of font's characters (bitmap width)
+     * @param dotSymbol   the character used to represent a filled cell (dot) within a character's bitmap.
+     * @param spaceSymbol the character used to represent an empty cell (space) within a character's bitmap.
+     * @param encoder     the Braille encoder used to calculate the font's bitmaps at construction time.
+     *                    <p>Precondition: (encoder != null)</p>
+     */
+    public AdvancedBrailleFont(int height, int width, char dotSymbol, char spaceSymbol,
+                               AdvancedBrailleEncoder encoder) {
+        super(height, width, dotSymbol, spaceSymbol, encoder);
+
+        // initialize bitmaps for all binary representations (8-dot cells for fonts of at least 4 lines)
+        cells = new char[height >= AdvancedBrailleEncoder.COMPUTER_CELL_HEIGHT ? 256 : 64][height][width];
+        for (int brailleCharBin = 0; brailleCharBin < cells.length; brailleCharBin++) {
+            for (int column = 0; column < width; column++) {
+                for (int row = 0; row < height; row++) {
+                    int bit = AdvancedBrailleEncoder.dotBit(row, column);
+                    boolean dot = bit >= 0 && (brailleCharBin & (1 << bit)) != 0;
+                    cells[brailleCharBin][row][column] = dot ? dotSymbol : spaceSymbol;
+                }
+            }
+        }
+
+        // initialize bitmaps for letters, punctuation and white space
+        characters = new char[128][][];
+        for (char character = 0; character < characters.length; character++)
+            characters[character] = cells[encoder.toBinary(character)];
+
+        // initialize bitmaps for computer Braille
+        computerCharacters = new char[256][][];
+        if (cells.length == computerCharacters.length)
+            for (int value = 0; value < computerCharacters.length; value++)
+                computerCharacters[value] = cells[encoder.toComputerBraille((byte) value) & 0xFF];
+    }
+
+
+    /**
+     * Retrieves a bitmap ({@code char[][]}) of a given ASCII character.
+     *
+     * @param character the ASCII character for which a printable character will be returned.
+     * @return a bitmap ({@code char[][]}) that corresponds to the given ASCII character.
+     * For letters, it returns the bitmap of the lowercase letter, for punctuation
+     * ({@code AdvancedBrailleEncoder.PUNCTUATION}) the bitmap of its cell.
+     * For all other characters, it returns the representation of a white space.
+     * Digits and capital signs require more than one cell, see {@code AdvancedBrailleEncoder.encode()} and
+     * {@code getCellBitmap()}.
+     * The bitmap is a copy, modifying it does not affect the font.
+     */
+    @Override
+    public char[][] getBitmap(char character) {
+        return copyBitmap(characters[character < characters.length ? character : ' ']);
+    }
+
+    /**
+     * Retrieves a bitmap ({@code char[][]}) of a given Braille binary representation.
+     *
+     * @param brailleCharBin the 6-bit pattern of the Braille cell (8-bit pattern for fonts of at least 4 lines).
+     * @return a copy of the bitmap ({@code char[][]}) that shows the dots set within the given pattern.
+     */
+    public char[][] getCellBitmap(byte brailleCharBin) {
+        return copyBitmap(cells[brailleCharBin & (cells.length - 1)]);
+    }
+
+    /**
+     * Retrieves a bitmap ({@code char[][]}) of a given byte value in computer Braille (8-dot cells).
+     *
+     * @param value the byte value to be printed.
+     * @return a copy of the bitmap ({@code char[][]}) of the value's 8-dot cell, or {@code null} if the font has
+     * less than 4 lines.
+     */
+    public char[][] getComputerBitmap(byte value) {
+        char[][] bitmap = computerCharacters[value & 0xFF];
+        return bitmap != null ? copyBitmap(bitmap) : null;
+    }
+
+    /**
+     * Creates a copy of a bitmap, so callers can not modify the font's bitmaps.
+     *
+     * @param bitmap the bitmap to be copied.
+     * @return a new bitmap with the same content.
+     */
+    private static char[][] copyBitmap(char[][] bitmap) {
+        char[][] copy = new char[bitmap.length][];
+        for (int row = 0; row < bitmap.length; row++)
+            copy[row] = bitmap[row].clone();
+        return copy;
+    }
+}
@@ -1,6 +1,4 @@
 package AB3;
-import AB3.Provided.BrailleEncoder;
-import AB3.Provided.BrailleFont;
 import AB3.Provided.ListNode;
 import AB3.Provided.TreeNode;
 
@@ -9,7 +7,8 @@ import java.util.Arrays;
 /**
  * The Application class serves as the entry point to the program.
  * <p>This class is used to test and demonstrate the functionality of printing text in Braille format
- * using the AdvancedLinePrinter, configured with a BrailleLineBuffer, a BrailleFont and a BrailleEncoder.</p>
+ * using the AdvancedLinePrinter, configured with a BrailleLineBuffer and a shared AdvancedBrailleFont
+ * of the BrailleFontRegistry.</p>
  * <p>Any implementation is not subject to examination and assessment by the EP2-Team, but serves as
  * free test hub for students.</p>
  */
@@ -17,7 +16,7 @@ public class Application {
     public static void main(String[] args) {
 
         // create a font
-        BrailleFont font = new BrailleFont(3,2,'o','.', new BrailleEncoder());
+        AdvancedBrailleFont font = BrailleFontRegistry.getFont(3,2,'o','.');
 
         // create a linked list
         BrailleLinkedList list = new BrailleLinkedList();
@@ -40,7 +39,7 @@ public class Application {
         }
 
         // create a Braille Decoder
-        BrailleDecoder decoder=new BrailleDecoder(new BrailleEncoder());
+        BrailleDecoder decoder=new BrailleDecoder(BrailleFontRegistry.getEncoder());
 
         decoder.decodeBitmap(font.getBitmap('e'), 'o');
 
@@ -53,6 +52,20 @@ public class Application {
         // and write it to screen :)
         System.out.println(asciiText);
 
+        // print a message in grade 2 Braille (with contractions) and translate it back
+        BrailleContractions contractions = new BrailleContractions();
+        contractions.add("and", BrailleContractions.parseCells("12346"));
+        contractions.add("about", BrailleContractions.parseCells("1/12"));
+        BrailleContractionEncoder contractionEncoder =
+                new BrailleContractionEncoder(contractions, BrailleFontRegistry.getEncoder());
+        brailleListBuffer.clearBuffer();
+        contractionEncoder.print("Hello and about ab", font, brailleListBuffer);
+        lines = brailleListBuffer.renderScanlines(4);
+        Arrays.asList(lines).forEach(System.out::println);
+        BrailleContractionDecoder contractionDecoder =
+                new BrailleContractionDecoder(new BrailleContractionTrie(contractions), decoder);
+        System.out.println(contractionDecoder.translate(lines, 'o', 4));
+
         // TODO: implementation of any developer specific tests (optional)
 
 
@@ -0,0 +1,124 @@
+package AB3;
+
+/**
+ * The {@code BrailleContractionDecoder} class decodes sequences of Braille cells that may contain contractions
+ * (grade 2 Braille) into ASCII text.
+ *
+ * <p>At each position, the longest cell sequence found in the {@code BrailleContractionTrie} is replaced by its
+ * text. Runs of cells that do not start a contraction are decoded via {@code BrailleDecoder.decodeCells()}, which
+ * applies capital signs, number signs and letter signs. The digits following a number sign are never read as
+ * contractions, and neither are the letters following a letter sign: the letter sign marks the letters (and capital
+ * signs) up to the end of the word as literal letters, so letters whose cells spell a contraction can be told apart
+ * from the contraction (see {@code BrailleContractionEncoder}). The cost is linear in the number of cells, as each
+ * position is matched against at most {@code getMaxDepth()} trie nodes.</p>
+ */
+public class BrailleContractionDecoder {
+    private final BrailleContractionTrie trie;
+    private final BrailleDecoder decoder;
+
+    /**
+     * Constructs a {@code BrailleContractionDecoder}.
+     *
+     * @param trie    the trie holding the contractions.
+     *                <p>Precondition: ( trie != null )</p>
+     * @param decoder the decoder used for cells which are not part of a contraction.
+     *                <p>Precondition: ( decoder != null )</p>
+     */
+    public BrailleContractionDecoder(BrailleContractionTrie trie, BrailleDecoder decoder) {
+        this.trie = trie;
+        this.decoder = decoder;
+    }
+
+    /**
+     * Decodes the given cells, replacing the longest matching contraction at every position.
+     *
+     * @param cells the Braille binary representation, one 6-bit pattern per cell.
+     * @return the decoded text, or an empty string if {@code cells} is {@code null}.
+     */
+    public String decode(byte[] cells) {
+        if (cells == null)
+            return "";
+
+        String[] words = new String[cells.length];
+        int[] ends = findContractions(trie, cells, words);
+        StringBuilder result = new StringBuilder(cells.length);
+        int runStart = 0;       // first cell of the run not covered by a contraction
+        int position = 0;
+        while (position < cells.length) {
+            if (ends[position] == 0) {
+                position++;
+                continue;
+            }
+            decoder.decodeCells(cells, runStart, position, result);
+            String match = words[position];
+            // a capital sign in front of a contraction capitalizes its first letter
+            if (cells[position] == AdvancedBrailleEncoder.CAPITAL_SIGN)
+                result.append(Character.toUpperCase(match.charAt(0))).append(match, 1, match.length());
+            else
+                result.append(match);
+            position = ends[position];
+            runStart = position;
+        }
+        decoder.decodeCells(cells, runStart, cells.length, result);
+        return result.toString();
+    }
+
+    /**
+     * Finds the contractions {@code decode()} reads within the given cells: the longest cell sequence found in the
+     * trie at every position, except for the digits of numbers and the literal letters following a letter sign.
+     *
+     * @param trie  the trie holding the contractions.
+     *              <p>Precondition: ( trie != null )</p>
+     * @param cells the Braille binary representation, one 6-bit pattern per cell.
+     *              <p>Precondition: ( cells != null )</p>
+     * @param words receives the text of each contraction at the index of its first cell (or its capital sign).
+     *              <p>Precondition: ( words != null ) && ( words.length >= cells.length )</p>
+     * @return for the first cell (or capital sign) of each contraction, the index after its last cell; 0 for all
+     * other cells.
+     */
+    static int[] findContractions(BrailleContractionTrie trie, byte[] cells, String[] words) {
+        int[] ends = new int[cells.length];
+        int position = 0;
+        while (position < cells.length) {
+            if (cells[position] == AdvancedBrailleEncoder.NUMBER_SIGN) {
+                // the digits of a number are never contracted
+                position++;
+                while (position < cells.length && AdvancedBrailleEncoder.isDigitCell(cells[position]))
+                    position++;
+                continue;
+            }
+            if (cells[position] == AdvancedBrailleEncoder.LETTER_SIGN) {
+                // neither are the letters of a word following a letter sign
+                position++;
+                while (position < cells.length && (AdvancedBrailleEncoder.isLetterCell(cells[position])
+                        || cells[position] == AdvancedBrailleEncoder.CAPITAL_SIGN))
+                    position++;
+                continue;
+            }
+
+            boolean capital = cells[position] == AdvancedBrailleEncoder.CAPITAL_SIGN;
+            int node = BrailleContractionTrie.ROOT;
+            for (int i = capital ? position + 1 : position; i < cells.length && node >= 0; i++) {
+                node = trie.getChild(node, cells[i]);
+                if (node >= 0 && trie.getWord(node) != null) {
+                    words[position] = trie.getWord(node);
+                    ends[position] = i + 1;
+                }
+            }
+            position = ends[position] != 0 ? ends[position] : position + 1;
+        }
+        return ends;
+    }
+
+    /**
+     * Translates the given Braille text lines, which may contain contractions, into an ASCII representation.
+     *
+     * @param brailleLine an array of strings representing scanlines of Braille text.
+     * @param dotSymbol   the character used to represent raised Braille dots in the bitmap.
+     * @param spacing     the number of spaces between individual Braille characters within the input.
+     * @return the decoded text, or an empty string if the input is invalid.
+     */
+    public String translate(String[] brailleLine, char dotSymbol, int spacing) {
+        return decode(BrailleReader.readCells(brailleLine, dotSymbol, spacing));
+    }
+}
@@ -0,0 +1,350 @@
+package AB3;
+
+import AB3.Interfaces.ListBuffer;
+
+import java.util.Arrays;
+
+/**
+ * The {@code BrailleContractionEncoder} class encodes ASCII text into Braille cells using contractions
+ * (grade 2 Braille, see {@code BrailleContractions}).
+ *
+ * <p>The text is scanned once by an Aho-Corasick automaton built from the contractions' texts, which reports every
+ * contraction occurring in the text. Among all ways to cover the text with contractions and single letters, the one
+ * with the fewest cells is chosen (dynamic programming over the text positions). Characters not covered by a
+ * contraction are encoded by an {@code AdvancedBrailleEncoder}, which may require more than one cell per character
+ * (e.g. for capital letters or digits). Each run of such characters is encoded as a whole, so a number gets a single
+ * number sign. A contraction whose first cell would be read as a digit is not used directly after a digit.</p>
+ * <p>The {@code BrailleContractionDecoder} reads the longest contraction at every position, so letters that spell
+ * the cells of a contraction would be read as the contraction. Therefore the cells are checked against the
+ * contractions the decoder finds ({@code BrailleContractionDecoder.findContractions()}): every word the decoder would
+ * read differently is written letter by letter after a letter sign, which marks its letters as literal letters.</p>
+ * <p>The automaton works on the lower case alphabet ('a' to 'z'), matching is case-insensitive. Any other character
+ * resets the automaton, so contractions never span white space or punctuation. A contraction is only used for text
+ * in lower case or with a capital first letter, which is marked by a capital sign in front of the contraction; text
+ * with other capital letters is encoded letter by letter.</p>
+ */
+public class BrailleContractionEncoder {
+    private static final int ALPHABET_SIZE = 'z' - 'a' + 1;
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private final AdvancedBrailleEncoder encoder;
+    private final BrailleContractions contractions;
+    private final BrailleContractionTrie trie;     // the contractions as read by the decoder
+    private final byte[][] entryCells;     // cells of all contractions, copied once
+    private final boolean[] digitStart;    // contractions whose first cell is read as a digit after a number
+
+    private int[] transitions;     // complete transition function: transitions[state * ALPHABET_SIZE + letter]
+    private int[] entry;           // contraction ending in a state, or NONE
+    private int[] outputLink;      // next state on the failure chain with an entry, or NONE
+    private int[] depth;           // length of the text a state represents
+    private int stateCount = 1;
+
+    /**
+     * Constructs a {@code BrailleContractionEncoder} and builds its automaton.
+     *
+     * @param contractions the contractions available for encoding. Entries containing characters other than
+     *                     letters are ignored.
+     *                     <p>Precondition: ( contractions != null )</p>
+     * @param encoder      the encoder used for characters not covered by a contraction.
+     *                     <p>Precondition: ( encoder != null )</p>
+     */
+    public BrailleContractionEncoder(BrailleContractions contractions, AdvancedBrailleEncoder encoder) {
+        this.contractions = contractions;
+        this.encoder = encoder;
+        trie = new BrailleContractionTrie(contractions);
+
+        entryCells = new byte[contractions.size()][];
+        digitStart = new boolean[contractions.size()];
+        for (int i = 0; i < entryCells.length; i++) {
+            entryCells[i] = contractions.getCells(i);
+            digitStart[i] = entryCells[i].length > 0 && AdvancedBrailleEncoder.isDigitCell(entryCells[i][0]);
+        }
+
+        int maxStates = 1;
+        for (int i = 0; i < contractions.size(); i++)
+            maxStates += contractions.getWord(i).length();
+        transitions = new int[maxStates * ALPHABET_SIZE];
+        entry = new int[maxStates];
+        outputLink = new int[maxStates];
+        depth = new int[maxStates];
+        Arrays.fill(transitions, NONE);
+        Arrays.fill(entry, NONE);
+
+        for (int i = 0; i < contractions.size(); i++)
+            addWord(i);
+        buildFailureLinks();
+    }
+
+    /**
+     * Inserts the text of a contraction into the trie underlying the automaton.
+     *
+     * @param index the index of the contraction within the dictionary.
+     */
+    private void addWord(int index) {
+        String word = contractions.getWord(index);
+        for (int i = 0; i < word.length(); i++)
+            if (toLetter(word.charAt(i)) == NONE)
+                return;
+
+        int state = ROOT;
+        for (int i = 0; i < word.length(); i++) {
+            int slot = state * ALPHABET_SIZE + toLetter(word.charAt(i));
+            if (transitions[slot] == NONE) {
+                depth[stateCount] = depth[state] + 1;
+                transitions[slot] = stateCount++;
+            }
+            state = transitions[slot];
+        }
+        // prefer the shorter cell sequence if the same text is contracted twice
+        if (entry[state] == NONE || entryCells[index].length < entryCells[entry[state]].length)
+            entry[state] = index;
+    }
+
+    /**
+     * Calculates failure and output links in breadth-first order and completes the transition function, so matching
+     * requires exactly one table lookup per character.
+     */
+    private void buildFailureLinks() {
+        int[] failure = new int[stateCount];
+        int[] queue = new int[stateCount];
+        int head = 0;
+        int tail = 0;
+
+        outputLink[ROOT] = NONE;
+        for (int letter = 0; letter < ALPHABET_SIZE; letter++) {
+            int child = transitions[letter];
+            if (child == NONE) {
+                transitions[letter] = ROOT;
+            } else {
+                failure[child] = ROOT;
+                outputLink[child] = NONE;
+                queue[tail++] = child;
+            }
+        }
+
+        while (head < tail) {
+            int state = queue[head++];
+            for (int letter = 0; letter < ALPHABET_SIZE; letter++) {
+                int slot = state * ALPHABET_SIZE + letter;
+                int child = transitions[slot];
+                int fallback = transitions[failure[state] * ALPHABET_SIZE + letter];
+                if (child == NONE) {
+                    transitions[slot] = fallback;
+                } else {
+                    failure[child] = fallback;
+                    outputLink[child] = entry[fallback] != NONE ? fallback : outputLink[fallback];
+                    queue[tail++] = child;
+                }
+            }
+        }
+    }
+
+    private static int toLetter(char character) {
+        char lowerCase = Character.toLowerCase(character);
+        return (lowerCase >= 'a' && lowerCase <= 'z') ? lowerCase - 'a' : NONE;
+    }
+
+    /**
+     * Encodes the given text into the shortest sequence of Braille cells that {@code BrailleContractionDecoder}
+     * reads back to the text (apart from characters the encoder does not support).
+     *
+     * @param text the ASCII text to be encoded.
+     *             <p>Precondition: ( text != null )</p>
+     * @return the Braille binary representation of the text, one 6-bit pattern per cell.
+     */
+    public byte[] encode(String text) {
+        int length = text.length();
+        int[] cost = new int[length + 1];       // minimal number of cells for the first i characters
+        int[] choice = new int[length + 1];     // contraction ending at character i, or NONE
+        int[] capitals = new int[length + 1];   // number of capital letters within the first i characters
+
+        int state = ROOT;
+        for (int i = 0; i < length; i++) {
+            cost[i + 1] = cost[i] + encoder.cellCount(text, i);
+            choice[i + 1] = NONE;
+            capitals[i + 1] = capitals[i] + (isCapital(text.charAt(i)) ? 1 : 0);
+
+            int letter = toLetter(text.charAt(i));
+            if (letter == NONE) {
+                state = ROOT;
+                continue;
+            }
+            state = transitions[state * ALPHABET_SIZE + letter];
+
+            int match = entry[state] != NONE ? state : outputLink[state];
+            while (match != NONE) {
+                int start = i + 1 - depth[match];
+                int sign = sign(text, start);
+                int candidate = cost[start] + (sign != NONE ? 1 : 0) + entryCells[entry[match]].length;
+                // only the first letter of a contracted text may be a capital letter, and a number must not continue
+                boolean allowed = capitals[i + 1] == capitals[start + 1] && (sign != NONE || start == 0
+                        || !AdvancedBrailleEncoder.isDigit(text.charAt(start - 1)) || !digitStart[entry[match]]);
+                if (allowed && candidate < cost[i + 1]) {
+                    cost[i + 1] = candidate;
+                    choice[i + 1] = entry[match];
+                }
+                match = outputLink[match];
+            }
+        }
+
+        // mark the chosen contractions by their first character
+        int[] chosen = new int[length];
+        Arrays.fill(chosen, NONE);
+        for (int position = length; position > 0; ) {
+            int index = choice[position];
+            if (index == NONE) {
+                position--;
+            } else {
+                position -= contractions.getWord(index).length();
+                chosen[position] = index;
+            }
+        }
+
+        // write the cells, writing every word the decoder would read differently letter by letter, until the decoder
+        // reads all contractions as written
+        boolean[] literal = new boolean[length];     // first letters of the words written letter by letter
+        byte[] cells = new byte[length * (AdvancedBrailleEncoder.MAX_CELLS_PER_CHARACTER + 1)];
+        int[] source = new int[cells.length];        // character each cell is written for
+        int[] ends = new int[cells.length];          // index after each contraction at its first cell, 0 otherwise
+        int[] written = new int[cells.length];       // contraction written at its first cell
+        String[] read = new String[cells.length];
+        int count;
+        byte[] output;
+        boolean misread;
+        do {
+            Arrays.fill(ends, 0);
+            count = 0;
+            int position = 0;
+            while (position < length) {
+                int start = count;
+                if (literal[position]) {
+                    int end = wordEnd(text, position);
+                    cells[count++] = AdvancedBrailleEncoder.LETTER_SIGN;
+                    count += encoder.encode(text, position, end, cells, count);
+                    Arrays.fill(source, start, count, position);
+                    position = end;
+                } else if (chosen[position] == NONE) {
+                    int end = position + 1;
+                    while (end < length && chosen[end] == NONE && !literal[end])
+                        end++;
+                    count += encoder.encode(text, position, end, cells, count);
+                    for (int i = position, cell = start; i < end; i++)
+                        for (int n = encoder.cellCount(text, i); n > 0 && cell < count; n--)
+                            source[cell++] = i;
+                    position = end;
+                } else {
+                    int index = chosen[position];
+                    int sign = sign(text, position);
+                    if (sign != NONE)
+                        cells[count++] = (byte) sign;
+                    System.arraycopy(entryCells[index], 0, cells, count, entryCells[index].length);
+                    count += entryCells[index].length;
+                    Arrays.fill(source, start, count, position);
+                    ends[start] = count;
+                    written[start] = index;
+                    position += contractions.getWord(index).length();
+                }
+            }
+
+            output = Arrays.copyOf(cells, count);
+            int[] found = BrailleContractionDecoder.findContractions(trie, output, read);
+            misread = false;
+            for (int cell = 0; cell < count; cell = found[cell] != 0 ? found[cell] : cell + 1) {
+                boolean asWritten = found[cell] == ends[cell]
+                        && (found[cell] == 0 || read[cell].equals(contractions.getWord(written[cell])));
+                if (!asWritten && (found[cell] == 0
+                        || !readsAs(text, output, source, ends, cell, found[cell], read[cell])))
+                    misread |= writeLiterally(text, source[cell], chosen, literal);
+            }
+        } while (misread);
+        return output;
+    }
+
+    /**
+     * Checks whether a contraction the decoder finds within cells written letter by letter is read as the same text,
+     * e.g. if the cells of the contraction are the cells of its letters.
+     *
+     * @param cells the written cells.
+     * @param from  the first cell (or capital sign) of the contraction.
+     * @param to    the index after the last cell of the contraction.
+     * @param word  the text of the contraction.
+     * @return {@code true} if the cells are the complete cells of characters not covered by contractions, and these
+     * characters are the text of the contraction; {@code false} otherwise.
+     */
+    private static boolean readsAs(String text, byte[] cells, int[] source, int[] ends, int from, int to, String word) {
+        if ((from > 0 && source[from - 1] == source[from]) || (to < cells.length && source[to] == source[to - 1]))
+            return false;
+        for (int cell = from; cell < to; cell++)
+            if (ends[cell] != 0)
+                return false;
+        int start = source[from];
+        if (source[to - 1] + 1 - start != word.length())
+            return false;
+        boolean capital = cells[from] == AdvancedBrailleEncoder.CAPITAL_SIGN;
+        for (int i = 0; i < word.length(); i++) {
+            char character = i == 0 && capital ? Character.toUpperCase(word.charAt(0)) : word.charAt(i);
+            if (text.charAt(start + i) != character)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Marks the word containing a character to be written letter by letter, dropping its contractions.
+     *
+     * @return {@code true} if the word has been marked, {@code false} if the character is no letter or its word is
+     * already written letter by letter.
+     */
+    private static boolean writeLiterally(String text, int index, int[] chosen, boolean[] literal) {
+        if (toLetter(text.charAt(index)) == NONE)
+            return false;
+        int start = index;
+        while (start > 0 && toLetter(text.charAt(start - 1)) != NONE)
+            start--;
+        if (literal[start])
+            return false;
+        literal[start] = true;
+        Arrays.fill(chosen, start, wordEnd(text, start), NONE);
+        return true;
+    }
+
+    private static int wordEnd(String text, int start) {
+        int end = start;
+        while (end < text.length() && toLetter(text.charAt(end)) != NONE)
+            end++;
+        return end;
+    }
+
+    /**
+     * Retrieves the sign required in front of a contraction: the capital sign if the contracted text starts with a
+     * capital letter.
+     *
+     * @return the cell of the sign, or {@code NONE} if no sign is required.
+     */
+    private static int sign(String text, int start) {
+        return isCapital(text.charAt(start)) ? AdvancedBrailleEncoder.CAPITAL_SIGN : NONE;
+    }
+
+    private static boolean isCapital(char character) {
+        return character >= 'A' && character <= 'Z';
+    }
+
+    /**
+     * Encodes the given text and appends the resulting Braille cells to a list buffer.
+     *
+     * @param text   the ASCII text to be encoded.
+     *               <p>Precondition: ( text != null )</p>
+     * @param font   the font providing the bitmaps of the cells.
+     *               <p>Precondition: ( font != null )</p>
+     * @param buffer the buffer the bitmaps are appended to.
+     *               <p>Precondition: ( buffer != null )</p>
+     * @return the number of cells appended to the buffer.
+     */
+    public int print(String text, AdvancedBrailleFont font, ListBuffer buffer) {
+        byte[] cells = encode(text);
+        for (byte cell : cells)
+            buffer.push(font.getCellBitmap(cell));
+        return cells.length;
+    }
+}
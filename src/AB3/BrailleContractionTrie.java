@@ -0,0 +1,105 @@
+package AB3;
+
+/**
+ * The {@code BrailleContractionTrie} class represents a trie (prefix tree) over sequences of Braille cells, used
+ * to look up contractions (see {@code BrailleContractions}) while decoding.
+ *
+ * <p>Like the {@code BrailleSymbolTree}, the trie is navigated by Braille binary encodings. Instead of a binary
+ * decision per bit, each node branches directly on a whole cell (6-bit pattern), so a path of n nodes describes a
+ * sequence of n cells.</p>
+ * <p>The trie is held in flat arrays instead of linked node objects: nodes are identified by their index, and the
+ * child of node {@code n} for a cell {@code c} is found at {@code children[n * 64 + c]}. Index 0 is the root, so
+ * a child index of 0 denotes a missing child.</p>
+ */
+public final class BrailleContractionTrie {
+    public static final int ROOT = 0;
+    private static final int NO_CHILD = 0;
+    private static final int FANOUT = 64;       // one child per 6-bit pattern
+    private static final int INITIAL_NODES = 16;
+
+    private int[] children = new int[INITIAL_NODES * FANOUT];
+    private String[] words = new String[INITIAL_NODES];
+    private int nodeCount = 1;     // root node
+    private int maxDepth = 0;
+
+    /**
+     * Constructs an empty trie.
+     */
+    public BrailleContractionTrie() {
+    }
+
+    /**
+     * Constructs a trie that contains all entries of the given dictionary.
+     *
+     * @param contractions the dictionary to be inserted.
+     *                     <p>Precondition: ( contractions != null )</p>
+     */
+    public BrailleContractionTrie(BrailleContractions contractions) {
+        for (int i = 0; i < contractions.size(); i++)
+            insert(contractions.getCells(i), contractions.getWord(i));
+    }
+
+    /**
+     * Inserts a sequence of cells and the text it represents. An existing entry for the same sequence is replaced.
+     *
+     * @param cells the Braille binary representation, one 6-bit pattern per cell.
+     *              <p>Precondition: ( cells != null ) && ( cells.length > 0 )</p>
+     * @param word  the text represented by the cells.
+     */
+    public void insert(byte[] cells, String word) {
+        int node = ROOT;
+        for (byte cell : cells) {
+            int slot = node * FANOUT + (cell & (FANOUT - 1));
+            if (children[slot] == NO_CHILD) {
+                ensureCapacity();
+                children[slot] = nodeCount++;
+            }
+            node = children[slot];
+        }
+        words[node] = word;
+        maxDepth = Math.max(maxDepth, cells.length);
+    }
+
+    private void ensureCapacity() {
+        if (nodeCount < words.length)
+            return;
+
+        int[] newChildren = new int[children.length * 2];
+        String[] newWords = new String[words.length * 2];
+        System.arraycopy(children, 0, newChildren, 0, children.length);
+        System.arraycopy(words, 0, newWords, 0, words.length);
+        children = newChildren;
+        words = newWords;
+    }
+
+    /**
+     * Retrieves the child of the given node for the given cell.
+     *
+     * @param node the index of the node.
+     * @param cell the 6-bit pattern used to navigate.
+     * @return the index of the child node, or {@code -1} if the node has no such child.
+     */
+    public int getChild(int node, byte cell) {
+        int child = children[node * FANOUT + (cell & (FANOUT - 1))];
+        return child == NO_CHILD ? -1 : child;
+    }
+
+    /**
+     * Retrieves the text stored for the cell sequence that leads from the root to the given node.
+     *
+     * @param node the index of the node.
+     * @return the text, or {@code null} if no entry ends at this node.
+     */
+    public String getWord(int node) {
+        return words[node];
+    }
+
+    /**
+     * Returns the number of cells of the longest entry.
+     *
+     * @return the maximum depth of the trie.
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+}
@@ -0,0 +1,163 @@
+package AB3;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The {@code BrailleContractions} class holds a dictionary of Braille contractions (grade 2 Braille), where a
+ * sequence of one or more Braille cells stands for a whole word or a group of letters.
+ *
+ * <p>Each entry consists of the contracted text and its Braille binary representation, one {@code byte} per cell.
+ * Dictionaries can be built entry by entry via {@code add()}, or loaded from a text file with one entry per line:</p>
+ * <pre>
+ *     # comment
+ *     and   12346
+ *     about 1/12
+ * </pre>
+ * <p>A line holds the text, followed by white space and the cells in dot notation. Cells are separated by '/' and
+ * list the numbers of their raised dots (1 to 6, dots 1-3 in the left column from top to bottom, dots 4-6 in the
+ * right column). '0' denotes an empty cell. Empty lines, comments and malformed lines are ignored.</p>
+ */
+public class BrailleContractions {
+    private static final int INITIAL_SIZE = 16;
+    private static final char COMMENT_SYMBOL = '#';
+    private static final char CELL_SEPARATOR = '/';
+
+    private String[] words = new String[INITIAL_SIZE];
+    private byte[][] cells = new byte[INITIAL_SIZE][];
+    private int count = 0;
+
+    /**
+     * Adds a contraction to the dictionary.
+     *
+     * @param word  the text represented by the contraction.
+     *              <p>Precondition: ( word != null ) && ( word.length() > 0 )</p>
+     * @param cells the Braille binary representation of the contraction, one 6-bit pattern per cell.
+     *              <p>Precondition: ( cells != null ) && ( cells.length > 0 )</p>
+     */
+    public void add(String word, byte[] cells) {
+        if (count == words.length) {
+            String[] newWords = new String[count * 2];
+            byte[][] newCells = new byte[count * 2][];
+            System.arraycopy(words, 0, newWords, 0, count);
+            System.arraycopy(this.cells, 0, newCells, 0, count);
+            words = newWords;
+            this.cells = newCells;
+        }
+        words[count] = word;
+        this.cells[count] = cells.clone();
+        count++;
+    }
+
+    /**
+     * Returns the number of contractions within the dictionary.
+     *
+     * @return the number of entries.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Retrieves the text of the entry at the given index.
+     *
+     * @param index the zero-based index of the entry.
+     *              <p>Precondition: ( index >= 0 ) && ( index < size() )</p>
+     * @return the text represented by the contraction.
+     */
+    public String getWord(int index) {
+        return words[index];
+    }
+
+    /**
+     * Retrieves the Braille binary representation of the entry at the given index.
+     *
+     * @param index the zero-based index of the entry.
+     *              <p>Precondition: ( index >= 0 ) && ( index < size() )</p>
+     * @return a copy of the contraction's cells.
+     */
+    public byte[] getCells(int index) {
+        return cells[index].clone();
+    }
+
+    /**
+     * Loads a dictionary from the given file (UTF-8).
+     *
+     * @param file the path of the dictionary file.
+     * @return the dictionary containing all well-formed entries of the file.
+     * @throws IOException if the file can not be read.
+     */
+    public static BrailleContractions load(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return load(reader);
+        }
+    }
+
+    /**
+     * Loads a dictionary from the given reader. The reader is not closed.
+     *
+     * @param reader the source of the dictionary text.
+     * @return the dictionary containing all well-formed entries.
+     * @throws IOException if reading fails.
+     */
+    public static BrailleContractions load(Reader reader) throws IOException {
+        BrailleContractions result = new BrailleContractions();
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.charAt(0) == COMMENT_SYMBOL)
+                continue;
+
+            int separator = 0;
+            while (separator < line.length() && !Character.isWhitespace(line.charAt(separator)))
+                separator++;
+            byte[] cells = parseCells(line.substring(separator).trim());
+            if (separator < line.length() && cells != null)
+                result.add(line.substring(0, separator), cells);
+        }
+        return result;
+    }
+
+    /**
+     * Parses cells given in dot notation, e.g. "1/12" for the two cells of the letters 'a' and 'b'.
+     *
+     * @param dots the cells in dot notation, separated by '/'.
+     * @return the Braille binary representation, one 6-bit pattern per cell, or {@code null} if the notation is
+     * malformed.
+     */
+    static byte[] parseCells(String dots) {
+        if (dots.isEmpty())
+            return null;
+
+        int cellCount = 1;
+        for (int i = 0; i < dots.length(); i++)
+            if (dots.charAt(i) == CELL_SEPARATOR)
+                cellCount++;
+
+        byte[] result = new byte[cellCount];
+        int cell = 0;
+        boolean emptyCell = true;
+        for (int i = 0; i < dots.length(); i++) {
+            char c = dots.charAt(i);
+            if (c == CELL_SEPARATOR) {
+                if (emptyCell)
+                    return null;
+                cell++;
+                emptyCell = true;
+            } else if (c >= '1' && c <= '6') {
+                result[cell] |= (byte) (1 << (c - '1'));
+                emptyCell = false;
+            } else if (c == '0') {
+                emptyCell = false;
+            } else {
+                return null;
+            }
+        }
+        return emptyCell ? null : result;
+    }
+}
@@ -7,13 +7,48 @@ import AB3.Provided.TreeNode;
  * The class implements a decoders, which decodes Braille symbols (bitmaps) into ASCII characters.
  * <p>It utilizes a binary search tree, to find ASCII characters corresponding to e letter's Braille
  * binary encoding.</p>
+ * <p>Bitmaps of 8-dot cells (computer Braille) are decoded via a 256-entry lookup table instead of the tree.</p>
+ * <p>In tolerant mode (see {@code setTolerant()}), bit patterns which are not part of the tree are replaced by
+ * their nearest valid pattern (Hamming distance) before decoding. Independent of the mode, the decoder counts
+ * exactly decoded, corrected and unknown cells.</p>
  */
 public class BrailleDecoder implements Decoder {
     private static final int BITMAP_HEIGHT=3;
+    private static final int COMPUTER_BITMAP_HEIGHT=AdvancedBrailleEncoder.COMPUTER_CELL_HEIGHT;
     private static final int BITMAP_WIDTH=2;
+    private static final int COMPUTER_CODE_COUNT=256;       // number of 8-bit patterns
     private static final char SPACE_SYMBOL=' ';
+    private static final int CODE_COUNT=64;                 // number of 6-bit patterns
+    private static final int MAX_CORRECTION_DISTANCE=1;     // maximum number of flipped dots that are corrected
+    private static final byte NO_CORRECTION=-1;
     private BrailleSymbolTree decoderTree;
 
+    /**
+     * Inverse lookup table, indexed by a cell's 6-bit pattern. Holds the symbol stored within the decoder tree for
+     * the pattern, or a null character (0) if the pattern is unknown. It is filled from the tree at construction time,
+     * so decoding a cell requires a single array access instead of a tree traversal.
+     */
+    private final char[] symbols = new char[CODE_COUNT];
+
+    /**
+     * Inverse lookup table for computer Braille, indexed by a cell's 8-bit pattern. Holds the byte value encoded
+     * by the cell (see {@code AdvancedBrailleEncoder.toComputerBraille()}).
+     */
+    private final byte[] computerValues = new byte[COMPUTER_CODE_COUNT];
+
+    /**
+     * Lookup table for tolerant decoding, indexed by a cell's 6-bit pattern.
+     * <p>Valid patterns map to themselves. Any other pattern maps to the valid pattern with the lowest Hamming
+     * distance, provided that distance does not exceed {@code MAX_CORRECTION_DISTANCE} and the nearest valid
+     * pattern is unique. Otherwise, the entry is {@code NO_CORRECTION}.</p>
+     */
+    private final byte[] nearestCode = new byte[CODE_COUNT];
+
+    private boolean tolerant = false;
+    private int exactCount = 0;
+    private int correctedCount = 0;
+    private int unknownCount = 0;
+
     /**
      * Constructs a BrailleDecoder object that decodes Braille symbols (bitmaps) into their
      * corresponding ASCII characters, utilizing a predefined binary search tree.
@@ -21,9 +56,51 @@ public class BrailleDecoder implements Decoder {
      * @param encoder     the Braille encoder that corresponds to this decoder. Required by
      *                    the construction of the binary search tree.
      *                    Precondition: ( encoder != null )
+     *                    <p>Punctuation and computer Braille are taken from the encoder if it is an
+     *                    {@code AdvancedBrailleEncoder}, otherwise from the shared encoder of the
+     *                    {@code BrailleFontRegistry}.</p>
      */
     public BrailleDecoder(BrailleEncoder encoder){
+        AdvancedBrailleEncoder extendedEncoder = encoder instanceof AdvancedBrailleEncoder
+                ? (AdvancedBrailleEncoder) encoder : BrailleFontRegistry.getEncoder();
         decoderTree = new BrailleSymbolTree(encoder);
+        for (int code = 0; code < CODE_COUNT; code++) {
+            TreeNode node = decoderTree.getNode((byte) code);
+            symbols[code] = node != null ? node.getSymbol() : 0;
+        }
+        for (int value = 0; value < COMPUTER_CODE_COUNT; value++)
+            computerValues[extendedEncoder.toComputerBraille((byte) value) & 0xFF] = (byte) value;
+        initNearestCodes();
+    }
+
+    /**
+     * Calculates the {@code nearestCode} table from the symbols stored in the decoder tree.
+     * <p>Capital, number and letter signs are prefixes that do not decode to a symbol. They are excluded, so noisy
+     * cells are never corrected towards them.</p>
+     */
+    private void initNearestCodes() {
+        boolean[] valid = new boolean[CODE_COUNT];
+        for (int code = 0; code < CODE_COUNT; code++)
+            valid[code] = lookup((byte) code) != 0;
+
+        for (int code = 0; code < CODE_COUNT; code++) {
+            byte nearest = NO_CORRECTION;
+            int bestDistance = MAX_CORRECTION_DISTANCE + 1;
+            boolean unique = false;
+            for (int candidate = 0; candidate < CODE_COUNT; candidate++) {
+                if (!valid[candidate])
+                    continue;
+                int distance = Integer.bitCount(code ^ candidate);
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    nearest = (byte) candidate;
+                    unique = true;
+                } else if (distance == bestDistance) {
+                    unique = false;
+                }
+            }
+            nearestCode[code] = unique ? nearest : NO_CORRECTION;
+        }
     }
 
     /**
@@ -32,6 +109,9 @@ public class BrailleDecoder implements Decoder {
      * Braille bitmap are identified based on the provided `dotSymbol`. Uses a binary
      * encoding derived from the bitmap to determine the ASCII equivalent via a Braille
      * symbol tree.
+     * <p>In tolerant mode, unknown bit patterns are corrected via the nearest valid pattern before decoding.</p>
+     * <p>Bitmaps with 4 lines are decoded as 8-dot cells in computer Braille, which cover all byte values, see
+     * {@code decodeComputerCell()}.</p>
      *
      * @param bitMap a 2D character array representing the Braille bitmap.
      *               The array must have dimensions corresponding to the expected
@@ -43,25 +123,200 @@ public class BrailleDecoder implements Decoder {
      *         and a null character (0) if the input is invalid.
      */
     public char decodeBitmap(char[][] bitMap, char dotSymbol) {
-        char result = ' ';
-        if (bitMap == null || bitMap.length != BITMAP_HEIGHT || bitMap[0].length != BITMAP_WIDTH || bitMap[1].length != BITMAP_WIDTH || bitMap[2].length != BITMAP_WIDTH)
+        if (bitMap == null || (bitMap.length != BITMAP_HEIGHT && bitMap.length != COMPUTER_BITMAP_HEIGHT))
             return 0;
+        for (char[] row : bitMap)
+            if (row == null || row.length != BITMAP_WIDTH)
+                return 0;
 
-        byte brailleCharBin = 0;
-        brailleCharBin |= (byte) ((bitMap[0][0] == dotSymbol ? 1 : 0)); // oberste Zeile -> Bit 0
-        brailleCharBin |= (byte) ((bitMap[1][0] == dotSymbol ? 1 : 0) << 1); // mittlere Zeile  -> Bit 1
-        brailleCharBin |= (byte) ((bitMap[2][0] == dotSymbol ? 1 : 0) << 2); // unterste Zeile   -> Bit 2
+        if (bitMap.length == COMPUTER_BITMAP_HEIGHT)
+            return (char) (decodeComputerCell(toBinary(bitMap, dotSymbol)) & 0xFF);
+        return decodeCell(toBinary(bitMap, dotSymbol));
+    }
 
-        // Zweite Spalte: von oben nach unten
-        brailleCharBin |= (byte) ((bitMap[0][1] == dotSymbol ? 1 : 0) << 3); // oberste Zeile   -> Bit 3
-        brailleCharBin |= (byte) ((bitMap[1][1] == dotSymbol ? 1 : 0) << 4); // mittlere Zeile  -> Bit 4
-        brailleCharBin |= (byte) ((bitMap[2][1] == dotSymbol ? 1 : 0) << 5); // unterste Zeile  -> Bit 5
+    /**
+     * Decodes an 8-dot cell (computer Braille) into the byte value it represents.
+     *
+     * @param cell the 8-bit pattern of the cell.
+     * @return the byte value, e.g. an ISO-8859-1 character.
+     */
+    public byte decodeComputerCell(byte cell) {
+        return computerValues[cell & 0xFF];
+    }
 
-        TreeNode node = decoderTree.getNode(brailleCharBin);
-        if (node != null && node.getSymbol() != 0)
-            result = node.getSymbol();
+    /**
+     * Decodes a sequence of 8-dot cells (computer Braille) into bytes, one byte per cell.
+     *
+     * @param cells  the 8-bit patterns of the cells.
+     * @param from   the index of the first cell within {@code cells}.
+     * @param to     the index after the last cell within {@code cells}.
+     * @param target the array the bytes are written to, may be {@code cells} for in-place decoding.
+     *               <p>Precondition: target has space for {@code to - from} bytes at {@code offset}</p>
+     * @param offset the index of the first byte within {@code target}.
+     */
+    public void transcode(byte[] cells, int from, int to, byte[] target, int offset) {
+        for (int i = from; i < to; i++)
+            target[offset + i - from] = computerValues[cells[i] & 0xFF];
+    }
+
+    /**
+     * Decodes the binary representation of a single Braille cell and updates the decoding statistics.
+     *
+     * @param brailleCharBin the 6-bit pattern of the cell.
+     * @return the corresponding ASCII character, or a space (' ') if the pattern is unknown.
+     */
+    char decodeCell(byte brailleCharBin) {
+        char result = lookup(brailleCharBin);
+        if (result != 0) {
+            exactCount++;
+            return result;
+        }
+
+        if (tolerant && nearestCode[brailleCharBin & (CODE_COUNT - 1)] != NO_CORRECTION) {
+            correctedCount++;
+            return lookup(nearestCode[brailleCharBin & (CODE_COUNT - 1)]);
+        }
+
+        unknownCount++;
+        return SPACE_SYMBOL;
+    }
 
-        return result;
+    /**
+     * Retrieves the symbol stored in the decoder tree for the given binary representation.
+     *
+     * @param brailleCharBin the 6-bit pattern of the cell.
+     * @return the symbol, or a null character (0) if the pattern is not stored within the tree.
+     */
+    private char lookup(byte brailleCharBin) {
+        return symbols[brailleCharBin & (CODE_COUNT - 1)];
+    }
+
+    /**
+     * Decodes a sequence of Braille cells, including capital signs, number signs and letter signs
+     * (see {@code AdvancedBrailleEncoder}), and appends the text to the given {@code StringBuilder}.
+     * <p>After a number sign, the letters 'a' to 'j' are decoded as digits until any other cell follows. A capital
+     * sign turns the following letter into a capital letter.</p>
+     *
+     * @param cells  the Braille binary representation, one 6-bit pattern per cell.
+     *               <p>Precondition: ( cells != null )</p>
+     * @param from   the index of the first cell to be decoded.
+     * @param to     the index after the last cell to be decoded.
+     * @param target the builder the decoded text is appended to.
+     *               <p>Precondition: ( target != null )</p>
+     */
+    public void decodeCells(byte[] cells, int from, int to, StringBuilder target) {
+        boolean numberMode = false;
+        boolean capital = false;
+        for (int i = from; i < to; i++) {
+            byte cell = (byte) (cells[i] & (CODE_COUNT - 1));
+            if (cell == AdvancedBrailleEncoder.NUMBER_SIGN) {
+                numberMode = true;
+                continue;
+            }
+            if (cell == AdvancedBrailleEncoder.CAPITAL_SIGN || cell == AdvancedBrailleEncoder.LETTER_SIGN) {
+                numberMode = false;
+                capital = cell == AdvancedBrailleEncoder.CAPITAL_SIGN;
+                continue;
+            }
+
+            char symbol = decodeCell(cell);
+            if (numberMode && symbol >= 'a' && symbol <= 'j') {
+                symbol = (char) ('0' + (symbol - 'a' + 1) % 10);
+            } else {
+                numberMode = false;
+                if (capital)
+                    symbol = Character.toUpperCase(symbol);
+            }
+            capital = false;
+            target.append(symbol);
+        }
+    }
+
+    /**
+     * Decodes a sequence of Braille cells, see {@code decodeCells(byte[], int, int, StringBuilder)}.
+     *
+     * @param cells the Braille binary representation, one 6-bit pattern per cell.
+     * @return the decoded text, or an empty string if {@code cells} is {@code null}.
+     */
+    public String decodeCells(byte[] cells) {
+        if (cells == null)
+            return "";
+        StringBuilder result = new StringBuilder(cells.length);
+        decodeCells(cells, 0, cells.length, result);
+        return result.toString();
+    }
+
+    /**
+     * Calculates the binary representation of a 3x2 Braille bitmap, or of a 4x2 bitmap of an 8-dot cell.
+     *
+     * @param bitMap a 2D character array representing the Braille bitmap.
+     *               <p>Precondition: bitmap has dimensions 3x2 or 4x2</p>
+     * @param dotSymbol the character that represents a raised dot in the Braille bitmap.
+     * @return the pattern of the cell, dots numbered column by column from top to bottom
+     * (see {@code AdvancedBrailleEncoder.dotBit()}).
+     */
+    static byte toBinary(char[][] bitMap, char dotSymbol) {
+        int brailleCharBin = 0;
+        for (int row = 0; row < bitMap.length; row++)
+            for (int column = 0; column < BITMAP_WIDTH; column++)
+                if (bitMap[row][column] == dotSymbol)
+                    brailleCharBin |= 1 << AdvancedBrailleEncoder.dotBit(row, column);
+        return (byte) brailleCharBin;
+    }
+
+    /**
+     * Enables or disables tolerant decoding.
+     *
+     * @param tolerant {@code true} to correct unknown bit patterns via the nearest valid pattern,
+     *                 {@code false} to decode unknown patterns as white space.
+     */
+    public void setTolerant(boolean tolerant) {
+        this.tolerant = tolerant;
+    }
+
+    /**
+     * Returns whether tolerant decoding is enabled.
+     *
+     * @return {@code true} if unknown bit patterns are corrected, {@code false} otherwise.
+     */
+    public boolean isTolerant() {
+        return tolerant;
+    }
+
+    /**
+     * Returns the number of cells decoded without correction since the last reset.
+     *
+     * @return the number of exactly decoded cells.
+     */
+    public int getExactCount() {
+        return exactCount;
+    }
+
+    /**
+     * Returns the number of cells decoded by correction to the nearest valid pattern since the last reset.
+     *
+     * @return the number of corrected cells.
+     */
+    public int getCorrectedCount() {
+        return correctedCount;
+    }
+
+    /**
+     * Returns the number of cells with unknown (and uncorrectable) patterns since the last reset.
+     *
+     * @return the number of unknown cells.
+     */
+    public int getUnknownCount() {
+        return unknownCount;
+    }
+
+    /**
+     * Resets the decoding statistics to zero.
+     */
+    public void resetStatistics() {
+        exactCount = 0;
+        correctedCount = 0;
+        unknownCount = 0;
     }
 }
 
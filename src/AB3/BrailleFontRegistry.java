@@ -0,0 +1,74 @@
+package AB3;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code BrailleFontRegistry} class provides shared {@code AdvancedBrailleFont} objects, one per configuration
+ * (height, width, dot symbol and space symbol).
+ *
+ * <p>Fonts are created on first request and reused afterwards, so their bitmaps are calculated only once. All fonts
+ * use the registry's single {@code AdvancedBrailleEncoder}. Fonts can be shared between threads safely: their state is
+ * held in final fields and never modified after construction, and the getters return copies of the bitmaps, so
+ * no caller can corrupt the bitmaps seen by the others.</p>
+ */
+public final class BrailleFontRegistry {
+    private static final AdvancedBrailleEncoder encoder = new AdvancedBrailleEncoder();
+    private static final ConcurrentHashMap<FontKey, AdvancedBrailleFont> fonts = new ConcurrentHashMap<>();
+
+    private BrailleFontRegistry() {
+    }
+
+    /**
+     * Retrieves the shared font for the given configuration, creating it if it does not exist yet.
+     *
+     * @param height      number of lines of font's characters (bitmap height)
+     * @param width       number of columns of font's characters (bitmap width)
+     * @param dotSymbol   the character used to represent a filled cell (dot) within a character's bitmap.
+     * @param spaceSymbol the character used to represent an empty cell (space) within a character's bitmap.
+     * @return the font for the given configuration.
+     */
+    public static AdvancedBrailleFont getFont(int height, int width, char dotSymbol, char spaceSymbol) {
+        return fonts.computeIfAbsent(new FontKey(height, width, dotSymbol, spaceSymbol),
+                key -> new AdvancedBrailleFont(key.height, key.width, key.dotSymbol, key.spaceSymbol, encoder));
+    }
+
+    /**
+     * Retrieves the shared encoder used by all fonts of the registry.
+     *
+     * @return the encoder.
+     */
+    public static AdvancedBrailleEncoder getEncoder() {
+        return encoder;
+    }
+
+    /**
+     * Key of a font configuration.
+     */
+    private static final class FontKey {
+        private final int height;
+        private final int width;
+        private final char dotSymbol;
+        private final char spaceSymbol;
+
+        private FontKey(int height, int width, char dotSymbol, char spaceSymbol) {
+            this.height = height;
+            this.width = width;
+            this.dotSymbol = dotSymbol;
+            this.spaceSymbol = spaceSymbol;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof FontKey))
+                return false;
+            FontKey key = (FontKey) other;
+            return height == key.height && width == key.width && dotSymbol == key.dotSymbol && spaceSymbol == key.spaceSymbol;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(height, width, dotSymbol, spaceSymbol);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package AB3;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code BrailleLoadGenerator} class sends many small concurrent requests to a {@code BrailleServer} on the
+ * loopback interface and prints the throughput and the server's latency histograms.
+ *
+ * <p>Arguments (all optional): number of connections, requests per connection, port of a running server.
+ * Without a port, a server is started on a free port.</p>
+ * <p>All connections are kept open until their requests are answered, so they are served concurrently. Only the
+ * number of connections being established at the same time is limited, to stay within the socket backlog.</p>
+ */
+public class BrailleLoadGenerator {
+    private static final String[] TEXTS = {"hello world", "braille 2024", "a quick brown fox", "jumps over it"};
+    private static final Semaphore CONNECTING = new Semaphore(256);
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        BrailleServer server = args.length > 2 ? null : new BrailleServer(0);
+        int port = args.length > 2 ? Integer.parseInt(args[2]) : server.getPort();
+
+        AtomicLong completed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                int client = i;
+                clients.execute(() -> {
+                    try {
+                        completed.addAndGet(runClient(port, client, requests));
+                    } catch (IOException e) {
+                        failed.incrementAndGet();
+                    }
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d connections, %d requests, %d failed connections in %.2f s (%.0f requests/s)%n",
+                connections, completed.get(), failed.get(), seconds, completed.get() / seconds);
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            out.write("STATS\n");
+            out.flush();
+            for (String histogram : in.readLine().split("\t"))
+                System.out.println(histogram);
+        }
+        if (server != null)
+            server.close();
+    }
+
+    /**
+     * Sends a sequence of ENCODE, RENDER and DECODE requests over one connection and checks the responses.
+     *
+     * @param port      the server's port.
+     * @param client    the number of the client, used to select the texts.
+     * @param requests  the number of requests.
+     * @return the number of correctly answered requests.
+     * @throws IOException if the connection fails.
+     */
+    private static int runClient(int port, int client, int requests) throws IOException {
+        int correct = 0;
+        Socket connection;
+        CONNECTING.acquireUninterruptibly();
+        try {
+            connection = new Socket(InetAddress.getLoopbackAddress(), port);
+        } finally {
+            CONNECTING.release();
+        }
+        try (Socket socket = connection;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            String patterns = null;
+            for (int i = 0; i < requests; i++) {
+                String text = TEXTS[(client + i) % TEXTS.length];
+                String request;
+                switch (i % 3) {
+                    case 0:
+                        request = "ENCODE " + text;
+                        break;
+                    case 1:
+                        request = "RENDER " + text;
+                        break;
+                    default:
+                        request = "DECODE " + patterns;
+                }
+                out.write(request);
+                out.write('\n');
+                out.flush();
+
+                String response = in.readLine();
+                if (response == null)
+                    throw new IOException("connection closed by server");
+                if (i % 3 == 0)
+                    patterns = response;
+                if (!response.startsWith("ERR") && (i % 3 != 2 || response.equals(TEXTS[(client + i - 2) % TEXTS.length])))
+                    correct++;
+            }
+        }
+        return correct;
+    }
+}
@@ -0,0 +1,129 @@
+package AB3;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The {@code BraillePackedReader} class reads Braille documents written by {@code BraillePackedWriter}.
+ *
+ * <p>The index block is loaded when the file is opened, so any line can be read directly by its number, without
+ * reading the lines before it.</p>
+ */
+public class BraillePackedReader implements Closeable {
+    private final FileChannel channel;
+    private final BrailleDecoder decoder;
+    private final long[] lineOffsets;
+    private final int[] lineCells;
+
+    /**
+     * Opens the given file and loads its index.
+     *
+     * @param file    the path of the file to be read.
+     * @param decoder the decoder used by {@code readLine()}.
+     *                <p>Precondition: ( decoder != null )</p>
+     * @throws IOException if the file can not be read or is not a packed Braille file.
+     */
+    public BraillePackedReader(Path file, BrailleDecoder decoder) throws IOException {
+        this.decoder = decoder;
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = read(0, BraillePackedWriter.HEADER_SIZE);
+            if (header.getInt() != BraillePackedWriter.MAGIC || header.getShort() != BraillePackedWriter.VERSION)
+                throw new IOException("not a packed Braille file: " + file);
+            header.getShort();      // reserved
+            int lineCount = header.getInt();
+            long indexOffset = header.getLong();
+
+            lineOffsets = new long[lineCount];
+            lineCells = new int[lineCount];
+            ByteBuffer index = read(indexOffset, (long) lineCount * BraillePackedWriter.INDEX_ENTRY_SIZE);
+            for (int i = 0; i < lineCount; i++) {
+                lineOffsets[i] = index.getLong();
+                lineCells[i] = index.getInt();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads a block of the file.
+     *
+     * @param offset the position of the block within the file.
+     * @param size   the number of bytes to be read.
+     * @return a little endian buffer holding the block.
+     * @throws IOException if the block can not be read completely.
+     */
+    private ByteBuffer read(long offset, long size) throws IOException {
+        if (size > Integer.MAX_VALUE)
+            throw new IOException("block too large: " + size);
+        ByteBuffer buffer = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0)
+                throw new IOException("unexpected end of file");
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Returns the number of lines within the file.
+     *
+     * @return the number of lines.
+     */
+    public int getLineCount() {
+        return lineOffsets.length;
+    }
+
+    /**
+     * Reads the cells of a line.
+     *
+     * @param line the zero-based number of the line.
+     *             <p>Precondition: ( line >= 0 ) && ( line < getLineCount() )</p>
+     * @return the 6-bit patterns of the line's cells.
+     * @throws IOException if reading fails.
+     */
+    public byte[] readCells(int line) throws IOException {
+        int count = lineCells[line];
+        ByteBuffer data = read(lineOffsets[line], BraillePackedWriter.packedSize(count));
+        byte[] result = new byte[count];
+        for (int i = 0; i < count; i += 4) {
+            int group = Math.min(4, count - i);
+            long bytes = BraillePackedWriter.packedSize(group);
+            int word = 0;
+            for (int j = 0; j < bytes; j++)
+                word |= (data.get() & 0xFF) << (8 * j);
+            for (int j = 0; j < group; j++)
+                result[i + j] = (byte) ((word >>> (6 * j)) & 0b111111);
+        }
+        return result;
+    }
+
+    /**
+     * Reads and decodes a line (see {@code BrailleDecoder.decodeCells()}).
+     *
+     * @param line the zero-based number of the line.
+     *             <p>Precondition: ( line >= 0 ) && ( line < getLineCount() )</p>
+     * @return the decoded text of the line.
+     * @throws IOException if reading fails.
+     */
+    public String readLine(int line) throws IOException {
+        return decoder.decodeCells(readCells(line));
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException if closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
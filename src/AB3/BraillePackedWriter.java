@@ -0,0 +1,159 @@
+package AB3;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The {@code BraillePackedWriter} class writes Braille documents in a compact binary format, line by line.
+ *
+ * <p>File layout (little endian):</p>
+ * <pre>
+ *     header   magic "BRL6" (4 bytes), version (2 bytes), reserved (2 bytes),
+ *              number of lines (4 bytes), offset of the index block (8 bytes)
+ *     data     the cells of all lines; four 6-bit cells are packed into three bytes, the last group
+ *              of a line is shortened to the bytes required by its cells
+ *     index    per line: offset of the line's data (8 bytes), number of cells (4 bytes)
+ * </pre>
+ * <p>The index allows {@code BraillePackedReader} to access any line directly. It is written when the writer is
+ * closed, so a file is complete only after {@code close()}.</p>
+ */
+public class BraillePackedWriter implements Closeable {
+    static final int MAGIC = 0x364C5242;            // "BRL6"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 20;
+    static final int INDEX_ENTRY_SIZE = 12;
+    private static final int INITIAL_LINES = 64;
+
+    private final FileChannel channel;
+    private final AdvancedBrailleEncoder encoder;
+    private final ByteBuffer buffer = ByteBuffer.allocate(8192).order(ByteOrder.LITTLE_ENDIAN);
+
+    private byte[] cells = new byte[256];
+    private long[] lineOffsets = new long[INITIAL_LINES];
+    private int[] lineCells = new int[INITIAL_LINES];
+    private int lineCount = 0;
+    private long position = HEADER_SIZE;
+
+    /**
+     * Creates (or replaces) the given file and constructs a {@code BraillePackedWriter} for it.
+     *
+     * @param file    the path of the file to be written.
+     * @param encoder the encoder used by {@code writeLine()} to calculate cells.
+     *                <p>Precondition: ( encoder != null )</p>
+     * @throws IOException if the file can not be created.
+     */
+    public BraillePackedWriter(Path file, AdvancedBrailleEncoder encoder) throws IOException {
+        this.encoder = encoder;
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        channel.position(HEADER_SIZE);
+    }
+
+    /**
+     * Encodes a text line and appends its cells to the file.
+     *
+     * @param text the ASCII text of the line.
+     *             <p>Precondition: ( text != null )</p>
+     * @throws IOException if writing fails.
+     */
+    public void writeLine(CharSequence text) throws IOException {
+        int required = text.length() * AdvancedBrailleEncoder.MAX_CELLS_PER_CHARACTER;
+        if (required > cells.length)
+            cells = new byte[required];
+        writeCells(cells, 0, encoder.encode(text, cells, 0));
+    }
+
+    /**
+     * Appends a line of cells to the file.
+     *
+     * @param lineCells the 6-bit patterns of the line's cells.
+     * @param from      the index of the first cell.
+     * @param to        the index after the last cell.
+     * @throws IOException if writing fails.
+     */
+    public void writeCells(byte[] lineCells, int from, int to) throws IOException {
+        if (lineCount == lineOffsets.length) {
+            long[] newOffsets = new long[lineCount * 2];
+            int[] newCells = new int[lineCount * 2];
+            System.arraycopy(lineOffsets, 0, newOffsets, 0, lineCount);
+            System.arraycopy(this.lineCells, 0, newCells, 0, lineCount);
+            lineOffsets = newOffsets;
+            this.lineCells = newCells;
+        }
+        lineOffsets[lineCount] = position;
+        this.lineCells[lineCount] = to - from;
+        lineCount++;
+
+        for (int i = from; i < to; i += 4) {
+            int group = Math.min(4, to - i);
+            int word = 0;
+            for (int j = 0; j < group; j++)
+                word |= (lineCells[i + j] & 0b111111) << (6 * j);
+            int bytes = (int) packedSize(group);
+            if (buffer.remaining() < bytes)
+                drain();
+            for (int j = 0; j < bytes; j++)
+                buffer.put((byte) (word >>> (8 * j)));
+            position += bytes;
+        }
+    }
+
+    /**
+     * Calculates the number of bytes required by a number of packed cells.
+     *
+     * @param cellCount the number of cells.
+     * @return the number of bytes (three bytes for every four cells).
+     */
+    static long packedSize(long cellCount) {
+        return (cellCount / 4) * 3 + (cellCount % 4 * 6 + 7) / 8;
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Returns the number of lines written so far.
+     *
+     * @return the number of lines.
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Writes the index block and the header and closes the file.
+     *
+     * @throws IOException if writing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!channel.isOpen())
+            return;
+        try {
+            long indexOffset = position;
+            for (int i = 0; i < lineCount; i++) {
+                if (buffer.remaining() < INDEX_ENTRY_SIZE)
+                    drain();
+                buffer.putLong(lineOffsets[i]).putInt(lineCells[i]);
+            }
+            drain();
+
+            buffer.putInt(MAGIC).putShort(VERSION).putShort((short) 0).putInt(lineCount).putLong(indexOffset);
+            buffer.flip();
+            while (buffer.hasRemaining())
+                channel.write(buffer, buffer.position());
+            buffer.clear();
+        } finally {
+            channel.close();
+        }
+    }
+}
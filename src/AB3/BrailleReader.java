@@ -5,10 +5,13 @@ import AB3.Interfaces.Decoder;
  * The BrailleReader class provides functionality to translate Braille text lines represented as
  * scan lines into ASCII text. It uses a Decoder to decode Braille character bitmaps into corresponding
  * ASCII characters.
+ * <p>Text lines consist of 3 scanlines (6-dot cells), or 4 scanlines for 8-dot cells (computer Braille).</p>
  */
 public class BrailleReader {
-    private final int WIDTH=2;
-    private final int HEIGHT=3;
+    private static final int WIDTH=2;
+    private static final int HEIGHT=3;
+    private static final int COMPUTER_HEIGHT=AdvancedBrailleEncoder.COMPUTER_CELL_HEIGHT;    // 8-dot cells
+    private static final char UNICODE_DOT='o';     // dot symbol of bitmaps created from Unicode Braille patterns
 
     private Decoder decoder;    // can store a reference to a BrailleDecoder
 
@@ -30,15 +33,15 @@ public class BrailleReader {
      *         or the specified position is out of bounds.
      */
     private char[][] getBrailleChar(int position, int spacing, String[] brailleLine){
-        if (brailleLine == null || brailleLine.length != HEIGHT)
+        if (!isValidLine(brailleLine))
             return null;
 
         int index = position * (WIDTH + spacing);
         if (index < 0 || index + WIDTH > brailleLine[0].length())
             return null;
-        char[][] braille = new char[HEIGHT][WIDTH];
+        char[][] braille = new char[brailleLine.length][WIDTH];
         for (int i = index; i < index + WIDTH; i++) {
-            for (int j = 0; j < HEIGHT; j++) {
+            for (int j = 0; j < brailleLine.length; j++) {
                 braille[j][i - index] = brailleLine[j].charAt(i);
             }
         }
@@ -57,7 +60,7 @@ public class BrailleReader {
     public String translate(String[] brailleLine, char dotSymbol, int spacing){
         StringBuilder result = new StringBuilder();
 
-        if (brailleLine == null || brailleLine.length != HEIGHT)
+        if (!isValidLine(brailleLine))
             return "";
 
         int count = (brailleLine[0].length() + spacing) / (WIDTH + spacing);
@@ -67,4 +70,82 @@ public class BrailleReader {
 
         return result.toString();
     }
+
+    /**
+     * Reads the Braille binary representations of all characters within the given Braille text lines.
+     * <p>Unlike {@code translate()}, no bitmaps are extracted; dots are read directly from the scanlines.</p>
+     *
+     * @param brailleLine an array of strings representing scanlines of Braille text.
+     * @param dotSymbol the character used to represent raised Braille dots in the bitmap.
+     * @param spacing the number of spaces between individual Braille characters within the input.
+     * @return the 6-bit patterns (8-bit patterns for 4 scanlines) of all characters in the line, or an empty array
+     * if the input is invalid.
+     */
+    public static byte[] readCells(String[] brailleLine, char dotSymbol, int spacing) {
+        if (!isValidLine(brailleLine))
+            return new byte[0];
+
+        int count = (brailleLine[0].length() + spacing) / (WIDTH + spacing);
+        byte[] result = new byte[count];
+        for (int i = 0; i < count; i++) {
+            int index = i * (WIDTH + spacing);
+            for (int column = index; column < index + WIDTH; column++) {
+                for (int row = 0; row < brailleLine.length; row++) {
+                    if (column < brailleLine[row].length() && brailleLine[row].charAt(column) == dotSymbol)
+                        result[i] |= (byte) (1 << AdvancedBrailleEncoder.dotBit(row, column - index));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the given scanlines form a valid Braille text line of 6-dot or 8-dot cells.
+     *
+     * @param brailleLine an array of strings representing scanlines of Braille text.
+     * @return {@code true} if the line consists of 3 or 4 non-null scanlines, {@code false} otherwise.
+     */
+    private static boolean isValidLine(String[] brailleLine) {
+        if (brailleLine == null || (brailleLine.length != HEIGHT && brailleLine.length != COMPUTER_HEIGHT))
+            return false;
+        for (String scanline : brailleLine)
+            if (scanline == null)
+                return false;
+        return true;
+    }
+
+    /**
+     * Translates a line of Unicode Braille patterns (U+2800 block, one character per cell) into an ASCII
+     * representation. Capital signs, number signs and letter signs are interpreted
+     * (see {@code BrailleDecoder.decodeCells()}).
+     * <p>Characters outside of the Unicode Braille block are read as empty cells (white space).</p>
+     *
+     * @param unicodeLine the line of Unicode Braille patterns.
+     * @return a string representing the ASCII translation, or an empty string if the input is {@code null}.
+     */
+    public String translateUnicode(String unicodeLine) {
+        if (unicodeLine == null)
+            return "";
+
+        byte[] cells = new byte[unicodeLine.length()];
+        for (int i = 0; i < cells.length; i++) {
+            int pattern = unicodeLine.charAt(i) - AdvancedBrailleEncoder.UNICODE_BLANK;
+            cells[i] = (pattern >= 0 && pattern <= 0xFF) ? (byte) pattern : 0;
+        }
+
+        if (decoder instanceof BrailleDecoder)
+            return ((BrailleDecoder) decoder).decodeCells(cells);
+
+        // other decoders are limited to single 6-dot bitmaps
+        StringBuilder result = new StringBuilder(cells.length);
+        char[][] bitmap = new char[HEIGHT][WIDTH];
+        for (byte cell : cells) {
+            for (int row = 0; row < HEIGHT; row++)
+                for (int column = 0; column < WIDTH; column++)
+                    bitmap[row][column] =
+                            (cell & (1 << AdvancedBrailleEncoder.dotBit(row, column))) != 0 ? UNICODE_DOT : ' ';
+            result.append(decoder.decodeBitmap(bitmap, UNICODE_DOT));
+        }
+        return result.toString();
+    }
 }
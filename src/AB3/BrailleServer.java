@@ -0,0 +1,201 @@
+package AB3;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The {@code BrailleServer} class offers encoding, rendering and decoding of Braille text as a request/response
+ * service on a local TCP socket (loopback interface).
+ *
+ * <p>Every connection is handled by its own virtual thread. Requests and responses are single lines of UTF-8 text:</p>
+ * <pre>
+ *     ENCODE text      -&gt; the text as Unicode Braille patterns (one character per cell)
+ *     RENDER text      -&gt; the text's scanlines (dot 'o', space '.', one column spacing), separated by tabs
+ *     DECODE patterns  -&gt; the text of a line of Unicode Braille patterns
+ *     STATS            -&gt; the latency histograms of all endpoints, separated by tabs
+ * </pre>
+ * <p>Invalid requests are answered by a line starting with "ERR". Encoders, decoders and buffers used to process
+ * requests are taken from a pool and reused by later connections.</p>
+ */
+public class BrailleServer implements AutoCloseable {
+    private static final char DOT_SYMBOL = 'o';
+    private static final char SPACE_SYMBOL = '.';
+    private static final int SPACING = 1;
+    private static final int BACKLOG = 4096;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentLinkedQueue<Workspace> pool = new ConcurrentLinkedQueue<>();
+
+    private final LatencyHistogram encodeLatency = new LatencyHistogram("ENCODE");
+    private final LatencyHistogram renderLatency = new LatencyHistogram("RENDER");
+    private final LatencyHistogram decodeLatency = new LatencyHistogram("DECODE");
+
+    /**
+     * Reusable objects required to process requests. A workspace is used by one connection at a time.
+     */
+    private static final class Workspace {
+        private final AdvancedBrailleEncoder encoder = BrailleFontRegistry.getEncoder();
+        private final BrailleReader reader = new BrailleReader(new BrailleDecoder(encoder));
+        private final StringBuilder response = new StringBuilder();
+        private byte[] cells = new byte[256];
+        private char[] characters = new char[256];
+
+        private void ensureCapacity(int textLength) {
+            int required = textLength * AdvancedBrailleEncoder.MAX_CELLS_PER_CHARACTER;
+            if (required > cells.length) {
+                cells = new byte[required];
+                characters = new char[required];
+            }
+        }
+    }
+
+    /**
+     * Constructs a {@code BrailleServer} listening on the given port of the loopback interface and starts
+     * accepting connections.
+     *
+     * @param port the port to listen on, or 0 for any free port (see {@code getPort()}).
+     * @throws IOException if the socket can not be opened.
+     */
+    public BrailleServer(int port) throws IOException {
+        serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+        Thread.ofVirtual().name("braille-server-accept").start(this::accept);
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return the local port.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    private void accept() {
+        try {
+            while (!serverSocket.isClosed()) {
+                Socket socket = serverSocket.accept();
+                executor.execute(() -> serve(socket));
+            }
+        } catch (IOException e) {
+            // socket closed, stop accepting
+        }
+    }
+
+    /**
+     * Processes all requests of a connection until the client closes it.
+     *
+     * @param socket the connection to the client.
+     */
+    private void serve(Socket socket) {
+        Workspace workspace = pool.poll();
+        if (workspace == null)
+            workspace = new Workspace();
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            String request;
+            while ((request = in.readLine()) != null) {
+                workspace.response.setLength(0);
+                process(request, workspace);
+                workspace.response.append('\n');
+                out.append(workspace.response);
+                out.flush();
+            }
+        } catch (IOException e) {
+            // connection closed by client
+        } finally {
+            pool.offer(workspace);
+        }
+    }
+
+    /**
+     * Processes a single request and writes the response (without line terminator) to the workspace.
+     *
+     * @param request   the request line.
+     * @param workspace the workspace holding the response.
+     */
+    private void process(String request, Workspace workspace) {
+        long start = System.nanoTime();
+        int separator = request.indexOf(' ');
+        String command = separator < 0 ? request : request.substring(0, separator);
+        String argument = separator < 0 ? "" : request.substring(separator + 1);
+
+        switch (command) {
+            case "ENCODE":
+                workspace.ensureCapacity(argument.length());
+                int count = workspace.encoder.encodeUnicode(argument, workspace.cells, workspace.characters, 0);
+                workspace.response.append(workspace.characters, 0, count);
+                encodeLatency.record(System.nanoTime() - start);
+                break;
+            case "RENDER":
+                workspace.ensureCapacity(argument.length());
+                render(workspace, workspace.encoder.encode(argument, workspace.cells, 0));
+                renderLatency.record(System.nanoTime() - start);
+                break;
+            case "DECODE":
+                workspace.response.append(workspace.reader.translateUnicode(argument));
+                decodeLatency.record(System.nanoTime() - start);
+                break;
+            case "STATS":
+                workspace.response.append(encodeLatency).append('\t').append(renderLatency).append('\t').append(decodeLatency);
+                break;
+            default:
+                workspace.response.append("ERR unknown command");
+        }
+    }
+
+    /**
+     * Renders the scanlines of the given cells into the workspace's response, separated by tabs.
+     *
+     * @param workspace the workspace holding the cells.
+     * @param count     the number of cells.
+     */
+    private static void render(Workspace workspace, int count) {
+        for (int row = 0; row < 3; row++) {
+            if (row > 0)
+                workspace.response.append('\t');
+            for (int i = 0; i < count; i++) {
+                if (i > 0)
+                    workspace.response.append(" ".repeat(SPACING));
+                for (int column = 0; column < 2; column++) {
+                    boolean dot = (workspace.cells[i] & (1 << AdvancedBrailleEncoder.dotBit(row, column))) != 0;
+                    workspace.response.append(dot ? DOT_SYMBOL : SPACE_SYMBOL);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the latency histograms of the ENCODE, RENDER and DECODE endpoints.
+     *
+     * @return the histograms in this order.
+     */
+    public LatencyHistogram[] getHistograms() {
+        return new LatencyHistogram[]{encodeLatency, renderLatency, decodeLatency};
+    }
+
+    /**
+     * Stops accepting connections and closes the server socket. Open connections are served until their clients
+     * close them.
+     *
+     * @throws IOException if closing the socket fails.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdown();
+    }
+}
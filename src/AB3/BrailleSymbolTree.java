@@ -12,22 +12,30 @@ import AB3.Provided.TreeNode;
 public class BrailleSymbolTree implements Tree {
     private TreeNode root;
     private BrailleEncoder encoder = null;
+    private AdvancedBrailleEncoder extendedEncoder = null;     // encodes the characters other than 'a' to 'z'
     private static final byte whiteSpaceByte = 0b000000;
 
 
     /**
      * Constructs a new {@code BrailleSymbolTree} instance utilizing the given encoder.
-     * <p>To build the search tree, all ASCII characters for the letters 'a' to 'z' and the ASCII character
-     * for the white space (' '), having a binary encoding of {@code 0b000000} are inserted into the tree via {@code addNode()}.</p>
+     * <p>To build the search tree, all ASCII characters for the letters 'a' to 'z', the punctuation characters
+     * ({@code AdvancedBrailleEncoder.PUNCTUATION}) and the ASCII character for the white space (' '), having a binary encoding
+     * of {@code 0b000000} are inserted into the tree via {@code addNode()}.</p>
+     * <p>The letters are encoded by the given encoder. Punctuation is encoded by the encoder as well if it is an
+     * {@code AdvancedBrailleEncoder}, otherwise by the shared encoder of the {@code BrailleFontRegistry}.</p>
      * @param encoder     the {@code BrailleEncoder} used to convert ASCII characters into their Braille binary representation.
      *                    <p>Precondition: ( encoder != null )</p>
      */
     public BrailleSymbolTree(BrailleEncoder encoder) {
         this.encoder = encoder;
+        this.extendedEncoder = encoder instanceof AdvancedBrailleEncoder ? (AdvancedBrailleEncoder) encoder
+                : BrailleFontRegistry.getEncoder();
         root = new TreeNode();
         addNode(' ');
         for (char character = 'a'; character <= 'z'; character++)
             addNode(character);
+        for (int i = 0; i < AdvancedBrailleEncoder.PUNCTUATION.length(); i++)
+            addNode(AdvancedBrailleEncoder.PUNCTUATION.charAt(i));
     }
 
     /**
@@ -46,7 +54,13 @@ public class BrailleSymbolTree implements Tree {
      */
     @Override
     public void addNode(char asciiCharacter) {
-        byte brailleCharBin = asciiCharacter == ' ' ? whiteSpaceByte : encoder.toBinary(asciiCharacter);
+        byte brailleCharBin;
+        if (asciiCharacter == ' ')
+            brailleCharBin = whiteSpaceByte;
+        else if (asciiCharacter >= 'a' && asciiCharacter <= 'z')
+            brailleCharBin = encoder.toBinary(asciiCharacter);
+        else
+            brailleCharBin = extendedEncoder.toBinary(asciiCharacter);
         TreeNode currentNode = root;
         for (int i = 0; i < 6; i++) {
             TreeNode nextNode;
@@ -0,0 +1,72 @@
+package AB3;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * The {@code BrailleUnicodeWriter} class writes Braille text as Unicode Braille patterns (U+2800 block).
+ *
+ * <p>Unlike printing via {@code AdvancedBrailleFont} bitmaps, each cell is written as a single character, so a text
+ * line is written as one line instead of one scanline per bitmap row. Cells are calculated by an
+ * {@code AdvancedBrailleEncoder} into buffers that are reused for all subsequent texts.</p>
+ */
+public class BrailleUnicodeWriter {
+    private static final int INITIAL_SIZE = 64;
+
+    private final Writer out;
+    private final AdvancedBrailleEncoder encoder;
+
+    private byte[] cells = new byte[INITIAL_SIZE * AdvancedBrailleEncoder.MAX_CELLS_PER_CHARACTER];
+    private char[] characters = new char[INITIAL_SIZE * AdvancedBrailleEncoder.MAX_CELLS_PER_CHARACTER];
+
+    /**
+     * Constructs a {@code BrailleUnicodeWriter}.
+     *
+     * @param out     the writer the Unicode Braille patterns are written to.
+     *                <p>Precondition: ( out != null )</p>
+     * @param encoder the encoder used to calculate the cells.
+     *                <p>Precondition: ( encoder != null )</p>
+     */
+    public BrailleUnicodeWriter(Writer out, AdvancedBrailleEncoder encoder) {
+        this.out = out;
+        this.encoder = encoder;
+    }
+
+    /**
+     * Encodes the given text and writes its cells as Unicode Braille patterns.
+     *
+     * @param text the ASCII text to be written.
+     *             <p>Precondition: ( text != null )</p>
+     * @throws IOException if writing fails.
+     */
+    public void print(CharSequence text) throws IOException {
+        int required = text.length() * AdvancedBrailleEncoder.MAX_CELLS_PER_CHARACTER;
+        if (required > cells.length) {
+            cells = new byte[required];
+            characters = new char[required];
+        }
+        int count = encoder.encodeUnicode(text, cells, characters, 0);
+        out.write(characters, 0, count);
+    }
+
+    /**
+     * Encodes the given text, writes its cells as Unicode Braille patterns and terminates the line.
+     *
+     * @param text the ASCII text to be written.
+     *             <p>Precondition: ( text != null )</p>
+     * @throws IOException if writing fails.
+     */
+    public void println(CharSequence text) throws IOException {
+        print(text);
+        out.write(System.lineSeparator());
+    }
+
+    /**
+     * Flushes the underlying writer.
+     *
+     * @throws IOException if flushing fails.
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+}
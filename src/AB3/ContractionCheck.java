@@ -0,0 +1,60 @@
+package AB3;
+
+/**
+ * Checks that the {@code BrailleContractionDecoder} reads the cells written by the {@code BrailleContractionEncoder}
+ * back to the original text (round trip), using the sample dictionary of {@code BrailleContractions}.
+ *
+ * <p>Each text is encoded into grade 2 Braille and decoded again, once as cells and once printed into a
+ * {@code BrailleListBuffer} and translated back from its scanlines. Letters spelling a contraction (e.g. "ab" for
+ * "about") must be read as letters. Every text is printed with OK or MISMATCH.</p>
+ */
+public class ContractionCheck {
+
+    public static void main(String[] args) {
+        BrailleContractions contractions = sampleContractions();
+        AdvancedBrailleEncoder encoder = BrailleFontRegistry.getEncoder();
+        BrailleContractionEncoder contractionEncoder = new BrailleContractionEncoder(contractions, encoder);
+        BrailleContractionDecoder contractionDecoder = new BrailleContractionDecoder(
+                new BrailleContractionTrie(contractions), new BrailleDecoder(encoder));
+        boolean ok = true;
+
+        // the letters of a word following a letter sign are never read as contractions
+        byte[] literal = {AdvancedBrailleEncoder.LETTER_SIGN, encoder.toBinary('a'), encoder.toBinary('b')};
+        ok &= check("letter sign", "ab", contractionDecoder.decode(literal));
+
+        AdvancedBrailleFont font = BrailleFontRegistry.getFont(3, 2, 'o', '.');
+        BrailleListBuffer buffer = new BrailleListBuffer(new BrailleLinkedList());
+        String[] texts = {"12", "1a", "1ab", "1and", "Hello", "12 chess", "The band and the chess", "Hello and The",
+                "THE them", "x2024y", "10-12.", "The ab", "about ab abc", "1about", "cabout", "Ab aB AB", "hello he"};
+        for (String text : texts) {
+            ok &= check("round trip", text, contractionDecoder.decode(contractionEncoder.encode(text)));
+            buffer.clearBuffer();
+            contractionEncoder.print(text, font, buffer);
+            ok &= check("printed", text, contractionDecoder.translate(buffer.renderScanlines(1), 'o', 1));
+        }
+
+        System.out.println(ok ? "all checks passed" : "CHECKS FAILED");
+    }
+
+    /**
+     * Builds the sample dictionary shown in the documentation of {@code BrailleContractions}, with a few more
+     * entries.
+     */
+    static BrailleContractions sampleContractions() {
+        BrailleContractions contractions = new BrailleContractions();
+        contractions.add("and", BrailleContractions.parseCells("12346"));
+        contractions.add("about", BrailleContractions.parseCells("1/12"));
+        contractions.add("the", BrailleContractions.parseCells("2346"));
+        contractions.add("ch", BrailleContractions.parseCells("16"));
+        contractions.add("he", BrailleContractions.parseCells("125/15"));
+        return contractions;
+    }
+
+    private static boolean check(String step, String expected, String actual) {
+        boolean equal = expected.equals(actual);
+        System.out.println((equal ? "OK       " : "MISMATCH ") + step + ": " + actual);
+        if (!equal)
+            System.out.println("         expected: " + expected);
+        return equal;
+    }
+}
@@ -0,0 +1,87 @@
+package AB3;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The {@code LatencyHistogram} class records latencies (in nanoseconds) of concurrent requests.
+ *
+ * <p>Latencies are counted in buckets of exponentially growing size: bucket {@code i} holds all latencies from
+ * {@code 2^(i-1)} to {@code 2^i - 1} nanoseconds, bucket 0 holds latencies of 0 nanoseconds. Percentiles are therefore
+ * reported as the upper bound of their bucket, which is at most twice the exact value. Recording is lock-free and does not allocate.</p>
+ */
+public class LatencyHistogram {
+    private static final int BUCKET_COUNT = 64;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Constructs an empty {@code LatencyHistogram}.
+     *
+     * @param name the name of the histogram (e.g. the endpoint), used by {@code toString()}.
+     */
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(BUCKET_COUNT - Long.numberOfLeadingZeros(value));      // bucket 0 for 0ns
+        count.incrementAndGet();
+        total.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     *
+     * @return the number of latencies.
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Calculates a percentile of the recorded latencies.
+     *
+     * @param percentile the percentile, from 0 to 100.
+     * @return the upper bound of the bucket holding the percentile in nanoseconds, or 0 if no latency was recorded.
+     */
+    public long getPercentile(double percentile) {
+        long recorded = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++)
+            recorded += buckets.get(i);
+        long threshold = (long) Math.ceil(recorded * percentile / 100);
+
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= threshold && seen > 0)
+                return Math.min(i == BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << i) - 1, max.get());
+        }
+        return 0;
+    }
+
+    /**
+     * Returns a summary of the histogram: number of latencies, mean, 50th, 90th and 99th percentile and maximum
+     * in microseconds.
+     *
+     * @return the summary as a single line.
+     */
+    @Override
+    public String toString() {
+        long recorded = count.get();
+        return String.format("%s count=%d mean=%.1fus p50=%.1fus p90=%.1fus p99=%.1fus max=%.1fus", name, recorded,
+                recorded == 0 ? 0.0 : total.get() / 1000.0 / recorded, getPercentile(50) / 1000.0,
+                getPercentile(90) / 1000.0, getPercentile(99) / 1000.0, max.get() / 1000.0);
+    }
+}
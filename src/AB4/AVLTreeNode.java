@@ -0,0 +1,300 @@
+package AB4;
+
+import AB4.Interfaces.AbstractTreeNode;
+import AB4.Interfaces.BinaryTreeNode;
+import AB4.Interfaces.Dinosaur;
+
+/**
+ * Represents a non-empty node in a self-balancing (AVL) binary tree structure.
+ *
+ * <p>Like {@code NonEmptyTreeNode}, each node is identified by the DNA (key) of the {@code Dinosaur} it contains,
+ * keys in the left subtree are smaller and keys in the right subtree are larger than the node's key, and missing child
+ * nodes are denoted by {@code EmptyTreeNode.NIL}. In addition, the heights of the two subtrees of any node differ by
+ * at most one. Nodes are rotated after each store and remove to restore this property, so the height of a tree of
+ * n dinosaurs is less than 1.45 * log2(n) and {@code store}, {@code remove} and {@code find} take O(log n) time,
+ * even if the dinosaurs are stored in ascending or descending DNA order.</p>
+ * <p>An AVL tree is started from {@code AVLTreeNode.EMPTY}, whose {@code store} method creates an {@code AVLTreeNode}
+ * (storing into {@code EmptyTreeNode.NIL} would start an unbalanced tree). Removing the last dinosaur of an AVL tree
+ * returns {@code AVLTreeNode.EMPTY} again.</p>
+ */
+public class AVLTreeNode implements BinaryTreeNode {
+
+    /**
+     * The empty AVL tree. Storing a dinosaur into it creates the root node of a new AVL tree.
+     */
+    public static final EmptyTreeNode EMPTY = new EmptyTreeNode() {
+        @Override
+        public AbstractTreeNode store(Dinosaur animal) {
+            return animal != null ? new AVLTreeNode(animal) : null;
+        }
+
+        @Override
+        public AbstractTreeNode remove(int dna) {
+            return this;
+        }
+    };
+
+    private AbstractTreeNode left;
+    private AbstractTreeNode right;
+    private Dinosaur animal;
+    private int dna;
+    private int height;     // number of nodes on the longest path down to a leaf, 1 for a leaf
+
+    /**
+     * Constructs a leaf {@code AVLTreeNode} containing a given Dinosaur object.
+     *
+     * @param animal the Dinosaur object to be stored in the tree node.
+     *               The DNA of this Dinosaur is used as the key, and the Dinosaur itself is the value of the node.
+     */
+    AVLTreeNode(Dinosaur animal) {
+        dna = animal.getDNA();
+        this.animal = animal;
+        left = EmptyTreeNode.NIL;
+        right = EmptyTreeNode.NIL;
+        height = 1;
+    }
+
+    /**
+     * Builds a balanced AVL tree of dinosaurs which are sorted by their DNA in strictly ascending order, in O(n) time.
+     *
+     * <p>The middle dinosaur of a range becomes the root, the two halves become its subtrees, so the subtrees of any
+     * node differ in height by at most one.</p>
+     *
+     * @param sorted the sorted dinosaurs.<br>
+     *               Precondition: sorted != null, no {@code null} elements, no duplicate DNA.
+     * @param from   the index of the first dinosaur.
+     * @param to     the index after the last dinosaur.
+     * @return the root of the new tree, or {@code AVLTreeNode.EMPTY} if the range is empty.
+     */
+    static AbstractTreeNode buildSorted(Dinosaur[] sorted, int from, int to) {
+        return from < to ? build(sorted, from, to) : EMPTY;
+    }
+
+    private static AbstractTreeNode build(Dinosaur[] sorted, int from, int to) {
+        if (from >= to)
+            return EmptyTreeNode.NIL;
+        int middle = (from + to) >>> 1;
+        AVLTreeNode node = new AVLTreeNode(sorted[middle]);
+        node.left = build(sorted, from, middle);
+        node.right = build(sorted, middle + 1, to);
+        node.updateHeight();
+        return node;
+    }
+
+    /**
+     * Stores a given Dinosaur within the tree and rebalances the tree.
+     *
+     * <p>If a dinosaur with the same DNA is already stored, it is replaced by the given dinosaur.</p>
+     *
+     * @param animal the Dinosaur object to be stored in the tree. The dinosaur's DNA is used to determine the storage location.
+     * @return the root node of the rebalanced tree (the node where the parent node should point to).
+     */
+    @Override
+    public AbstractTreeNode store(Dinosaur animal) {
+        if (animal == null)
+            return this;
+        return insert(this, animal);
+    }
+
+    private static AVLTreeNode insert(AbstractTreeNode tree, Dinosaur animal) {
+        if (!(tree instanceof AVLTreeNode))
+            return new AVLTreeNode(animal);
+
+        AVLTreeNode node = (AVLTreeNode) tree;
+        if (animal.getDNA() == node.dna) {
+            node.animal = animal;
+            return node;
+        } else if (animal.getDNA() < node.dna) {
+            node.left = insert(node.left, animal);
+        } else {
+            node.right = insert(node.right, animal);
+        }
+        return rebalance(node);
+    }
+
+    /**
+     * Removes the dinosaur identified by the given DNA from the tree and rebalances the tree.
+     *
+     * <p>The node of the dinosaur is removed from the tree: a node with at most one child is replaced by this child,
+     * a node with two children takes over the key and value of its in-order successor (the node with the smallest key
+     * of its right subtree), which is removed instead.</p>
+     *
+     * @param dna the unique integer encoded DNA of the dinosaur to be removed.
+     * @return the root node of the rebalanced tree, or {@code AVLTreeNode.EMPTY} if the tree is empty after removal.
+     */
+    @Override
+    public AbstractTreeNode remove(int dna) {
+        AbstractTreeNode result = delete(this, dna);
+        return result instanceof AVLTreeNode ? result : EMPTY;
+    }
+
+    private static AbstractTreeNode delete(AbstractTreeNode tree, int dna) {
+        if (!(tree instanceof AVLTreeNode))
+            return EmptyTreeNode.NIL;
+
+        AVLTreeNode node = (AVLTreeNode) tree;
+        if (dna < node.dna) {
+            node.left = delete(node.left, dna);
+        } else if (dna > node.dna) {
+            node.right = delete(node.right, dna);
+        } else if (!(node.left instanceof AVLTreeNode)) {
+            return node.right;
+        } else if (!(node.right instanceof AVLTreeNode)) {
+            return node.left;
+        } else {
+            AVLTreeNode successor = (AVLTreeNode) node.right;
+            while (successor.left instanceof AVLTreeNode)
+                successor = (AVLTreeNode) successor.left;
+            node.dna = successor.dna;
+            node.animal = successor.animal;
+            node.right = delete(node.right, successor.dna);
+        }
+        return rebalance(node);
+    }
+
+    /**
+     * Finds and returns a Dinosaur object in the tree based on its unique DNA identifier.
+     *
+     * @param dna the unique DNA, encoded as an {@code int}, of the dinosaur to be found.
+     * @return the Dinosaur object with the specified DNA, or {@code null} if no such dinosaur is found in the tree.
+     */
+    @Override
+    public Dinosaur find(int dna) {
+        AbstractTreeNode current = this;
+        while (current instanceof AVLTreeNode) {
+            AVLTreeNode node = (AVLTreeNode) current;
+            if (dna == node.dna)
+                return node.animal;
+            current = dna < node.dna ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Finds a dinosaur within the tree by its name.
+     *
+     * @param name the name of the dinosaur to locate
+     * @return the dinosaur object with the specified name, or {@code null} if no such dinosaur is found
+     */
+    @Override
+    public Dinosaur findByName(String name) {
+        if (name.equals(animal.getName()))
+            return animal;
+
+        Dinosaur result = left.findByName(name);
+        return result != null ? result : right.findByName(name);
+    }
+
+    /**
+     * Flattens the tree into an array of Dinosaur objects using an in-order traversal (see {@code TreeTraversal}).
+     *
+     * @return an array of {@code Dinosaur} objects representing all dinosaurs in the tree,
+     * sorted by their DNA in ascending order.
+     */
+    @Override
+    public Dinosaur[] flatten() {
+        return TreeTraversal.flatten(this);
+    }
+
+    // BALANCING
+
+    private static int height(AbstractTreeNode tree) {
+        return tree instanceof AVLTreeNode ? ((AVLTreeNode) tree).height : 0;
+    }
+
+    private void updateHeight() {
+        height = Math.max(height(left), height(right)) + 1;
+    }
+
+    /**
+     * Restores the AVL property of a node whose subtrees are balanced and differ in height by at most two.
+     *
+     * @param node the node to be rebalanced.
+     * @return the root of the rebalanced subtree.
+     */
+    private static AVLTreeNode rebalance(AVLTreeNode node) {
+        node.updateHeight();
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            AVLTreeNode child = (AVLTreeNode) node.left;
+            if (height(child.left) < height(child.right))
+                node.left = rotateLeft(child);
+            return rotateRight(node);
+        } else if (balance < -1) {
+            AVLTreeNode child = (AVLTreeNode) node.right;
+            if (height(child.right) < height(child.left))
+                node.right = rotateRight(child);
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static AVLTreeNode rotateRight(AVLTreeNode node) {
+        AVLTreeNode pivot = (AVLTreeNode) node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.updateHeight();
+        pivot.updateHeight();
+        return pivot;
+    }
+
+    private static AVLTreeNode rotateLeft(AVLTreeNode node) {
+        AVLTreeNode pivot = (AVLTreeNode) node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.updateHeight();
+        pivot.updateHeight();
+        return pivot;
+    }
+
+    // GETTERS
+
+    /**
+     * Retrieves the key of the current tree node.
+     *
+     * @return the key of the current tree node, represented as an {@code int}.
+     */
+    @Override
+    public int getKey() {
+        return dna;
+    }
+
+    /**
+     * Retrieves the dinosaur stored in the current tree node.
+     *
+     * @return the dinosaur (value) of the current tree node.
+     */
+    @Override
+    public Dinosaur getAnimal() {
+        return animal;
+    }
+
+    /**
+     * Retrieves the height of the subtree rooted at the current tree node.
+     *
+     * @return the number of nodes on the longest path from this node down to a leaf (1 for a leaf).
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Retrieves the left child node of the current tree node.
+     *
+     * @return the left child node represented as an {@code AbstractTreeNode}.
+     */
+    @Override
+    public AbstractTreeNode getLeft() {
+        return left;
+    }
+
+    /**
+     * Retrieves the right child node of the current tree node.
+     *
+     * @return the right child node represented as an {@code AbstractTreeNode}.
+     */
+    @Override
+    public AbstractTreeNode getRight() {
+        return right;
+    }
+}
@@ -0,0 +1,112 @@
+package AB4;
+
+import AB4.Interfaces.AbstractTreeNode;
+import AB4.Interfaces.Dinosaur;
+
+/**
+ * Represents a population tree that can be read by any number of threads while it is being modified.
+ *
+ * <p>The population is held as a persistent tree (see {@code PersistentTreeNode}). {@code store} and {@code remove}
+ * do not change nodes, but create a new version of the tree by copying the nodes on the path from the root to the
+ * changed node, and publish the new root by a single volatile write (copy-on-write with path copying, O(log n) new
+ * nodes per change). Readers ({@code find}, {@code findByName}, {@code flatten}) read the root once and work on this
+ * version of the tree, so they never block, never see a half applied change, and always see a consistent snapshot of
+ * the population. Writers are serialized by a lock.</p>
+ * <p>The dinosaurs themselves are shared between all versions, so they must not be changed while stored (feeding a
+ * dinosaur directly would change its mood in every version, unsynchronized). {@code DinoCorp.feed()} therefore stores
+ * fed copies of the dinosaurs by {@code storeAll()}, which publishes them as one new version.</p>
+ */
+public class ConcurrentPopulation implements AbstractTreeNode {
+    private volatile AbstractTreeNode root = PersistentTreeNode.EMPTY;
+
+    /**
+     * Stores a new dinosaur, replacing a dinosaur with the same DNA, and publishes the new version of the tree.
+     *
+     * @param animal the new dinosaur to be stored within the tree.
+     * @return this population.
+     */
+    @Override
+    public synchronized AbstractTreeNode store(Dinosaur animal) {
+        if (animal != null)
+            root = root.store(animal);
+        return this;
+    }
+
+    /**
+     * Stores a batch of dinosaurs (e.g. fed copies of stored dinosaurs), replacing dinosaurs with the same DNA, and
+     * publishes the new version of the tree once, so readers see either none or all of the dinosaurs.
+     *
+     * @param animals the dinosaurs to be stored; {@code null} elements are ignored.<br>
+     *                Precondition: animals != null.
+     */
+    public synchronized void storeAll(Dinosaur[] animals) {
+        AbstractTreeNode next = root;
+        for (Dinosaur animal : animals)
+            if (animal != null)
+                next = next.store(animal);
+        root = next;
+    }
+
+    /**
+     * Removes a dinosaur and publishes the new version of the tree.
+     *
+     * @param dna the individual DNA of the dinosaur to be removed.
+     * @return this population.
+     */
+    @Override
+    public synchronized AbstractTreeNode remove(int dna) {
+        root = root.remove(dna);
+        return this;
+    }
+
+    /**
+     * Finds a dinosaur by its DNA in the current version of the tree.
+     *
+     * @param dna the unique DNA encoded as {@code int} of the dinosaur to be found.
+     * @return the dinosaur object with the specified DNA, or {@code null} if no such dinosaur exists in the tree.
+     */
+    @Override
+    public Dinosaur find(int dna) {
+        return root.find(dna);
+    }
+
+    /**
+     * Finds a dinosaur by its name in the current version of the tree.
+     *
+     * @param name the name of the dinosaur to locate
+     * @return the dinosaur object with the specified name, or {@code null} if no such dinosaur is found
+     */
+    @Override
+    public Dinosaur findByName(String name) {
+        return root.findByName(name);
+    }
+
+    /**
+     * Flattens the current version of the tree into an array of all dinosaurs.
+     *
+     * @return an array of all dinosaurs, sorted by their DNA in ascending order.
+     */
+    @Override
+    public Dinosaur[] flatten() {
+        return root.flatten();
+    }
+
+    /**
+     * Returns the current version of the tree, which is not affected by later changes of the population.
+     *
+     * @return the root of a persistent tree, or {@code PersistentTreeNode.EMPTY}.
+     */
+    public AbstractTreeNode snapshot() {
+        return root;
+    }
+
+    /**
+     * Replaces the population by the dinosaurs of the given tree and publishes it as the new version.
+     *
+     * @param tree the root of a tree; a tree that is not persistent is copied (see {@code PersistentTreeNode.copyOf}).
+     *             <br>Precondition: tree != null.
+     */
+    public synchronized void restore(AbstractTreeNode tree) {
+        root = PersistentTreeNode.copyOf(tree);
+    }
+}
@@ -4,6 +4,16 @@ import AB4.Interfaces.AbstractDinosaurFactory;
 import AB4.Interfaces.AbstractTreeNode;
 import AB4.Interfaces.Dinosaur;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
 /**
  * The DinoCorp class represents a corporation operating Jurassic Dino Parks. It acts as a central point of coordination
  * for the lifecycle and operations surrounding dinosaurs in the system.
@@ -13,16 +23,17 @@ import AB4.Interfaces.Dinosaur;
  * querying the population's emotional state, to monitor the danger level as much as the impact of food on the population.
  */
 public class DinoCorp {
-    private static final int MAX_FACTORIES = 10;
-
-    private AbstractDinosaurFactory[] factories = new AbstractDinosaurFactory[MAX_FACTORIES];
-    private String[] factoryNames = new String[MAX_FACTORIES];
+    private final FactoryRegistry factories = new FactoryRegistry();
 
     private String[] orders = new String[0];
+    private OrderProgram program;       // compiled orders, null if the orders or factories changed since compilation
     private AbstractTreeNode population;
+    private static final int MOODS = Dinosaur.Happiness.values().length;
+    private static final int FEEDING_THRESHOLD = 4096;      // partitions larger than this are fed on the fork/join pool
+
+    private final AtomicIntegerArray moodCounts;     // number of animals per mood, indexed by ordinal
 
     // TODO: variable declarations
-    private int factoryCount = 0;
     private int activeFactoryIdx = -1;
     private int currentOrder = 0;
 
@@ -36,6 +47,185 @@ public class DinoCorp {
      */
     DinoCorp(AbstractTreeNode initialPopulation){
         population = initialPopulation;
+        moodCounts = new AtomicIntegerArray(recountMoods());
+    }
+
+    /**
+     * Counts the moods of all animals of the population by traversing it.
+     *
+     * @return the number of animals per mood, indexed by the mood's ordinal.
+     */
+    private int[] recountMoods(){
+        int[] counts = new int[MOODS];
+        TreeTraversal.forEach(population, dino -> counts[dino.getHappiness().ordinal()]++);
+        return counts;
+    }
+
+    /**
+     * Stores an animal in the population and updates the mood counters. An animal with the same DNA is replaced.
+     *
+     * @param dino the animal to be stored.<br>
+     *             Precondition: dino != null.
+     */
+    private void storeAnimal(Dinosaur dino){
+        Dinosaur replaced = population.find(dino.getDNA());
+        if (replaced != null)
+            moodCounts.decrementAndGet(replaced.getHappiness().ordinal());
+        population = population.store(dino);
+        moodCounts.incrementAndGet(dino.getHappiness().ordinal());
+    }
+
+    /**
+     * Creates an animal by a factory and stores it in the population, updating the mood counters. The animal to be
+     * replaced is looked up before the animal is created, as the factories of a {@code PopulationStore} store the
+     * animal themselves.
+     *
+     * @param factory the factory creating the animal.
+     * @param dna     the DNA of the new animal.
+     * @param name    the name of the new animal.
+     * @return {@code true} if the animal was created, {@code false} otherwise.
+     */
+    private boolean createAnimal(AbstractDinosaurFactory factory, int dna, String name){
+        Dinosaur replaced = population.find(dna);
+        int replacedMood = replaced != null ? replaced.getHappiness().ordinal() : -1;
+        Dinosaur dino = factory.create(dna, name);
+        if (dino == null)
+            return false;
+        if (replacedMood >= 0)
+            moodCounts.decrementAndGet(replacedMood);
+        population = population.store(dino);
+        moodCounts.incrementAndGet(dino.getHappiness().ordinal());
+        return true;
+    }
+
+    /**
+     * Stores a batch of animals in the corporation's population, with the same effect as storing them one by one:
+     * animals replace stored animals with the same DNA, and the last of several animals with the same DNA wins.
+     *
+     * <p>If the population is a tree of {@code NonEmptyTreeNode}s (or empty), the batch is sorted and merged with the
+     * (sorted) population, and a balanced tree is built from the result by {@code TreeBuilder}, which takes
+     * O(n + m log m) time for n stored and m new animals. Other population structures store the animals one by one.</p>
+     *
+     * @param animals the animals to be stored; {@code null} elements are ignored.<br>
+     *                Precondition: animals != null.
+     */
+    public void storeAll(Dinosaur[] animals){
+        if (!(population instanceof NonEmptyTreeNode) && population.getClass() != EmptyTreeNode.class) {
+            for (Dinosaur dino : animals)
+                if (dino != null)
+                    storeAnimal(dino);
+            return;
+        }
+
+        Dinosaur[] stored = population.flatten();
+        Dinosaur[] added = TreeBuilder.sortUnique(animals);
+        Dinosaur[] merged = new Dinosaur[stored.length + added.length];
+        int i = 0, j = 0, size = 0;
+        while (i < stored.length || j < added.length) {
+            if (j == added.length || (i < stored.length && stored[i].getDNA() < added[j].getDNA())) {
+                merged[size++] = stored[i++];
+            } else {
+                if (i < stored.length && stored[i].getDNA() == added[j].getDNA())
+                    moodCounts.decrementAndGet(stored[i++].getHappiness().ordinal());
+                moodCounts.incrementAndGet(added[j].getHappiness().ordinal());
+                merged[size++] = added[j++];
+            }
+        }
+        population = TreeBuilder.buildSorted(merged, 0, size);
+    }
+
+    /**
+     * Removes an animal from the corporation's population.
+     *
+     * @param dna the unique DNA of the animal to be removed.
+     * @return {@code true} if the animal was found and removed, {@code false} otherwise.
+     */
+    public boolean removeAnimal(int dna){
+        Dinosaur removed = population.find(dna);
+        if (removed == null)
+            return false;
+        int mood = removed.getHappiness().ordinal();     // read first, a PopulationStore's view dies with its row
+        population = population.remove(dna);
+        moodCounts.decrementAndGet(mood);
+        return true;
+    }
+
+    /**
+     * Takes a point-in-time snapshot of the corporation's population, which is not affected by later orders.
+     *
+     * <p>If the population is persistent (a {@code PersistentTreeNode} or a {@code ConcurrentPopulation}), the
+     * snapshot is the current root and is taken in O(1) time. Otherwise a persistent copy of the population is built
+     * in O(n) time. The animals are shared with the population, which is safe as {@code feed()} replaces fed
+     * animals by copies instead of changing them, so the snapshot keeps the animals' moods as well. The animals of a
+     * {@code PopulationStore} are copied (views would become invalid when the store changes).</p>
+     *
+     * @return the root of a persistent tree holding the animals of the population.
+     */
+    public AbstractTreeNode snapshot(){
+        if (population instanceof ConcurrentPopulation)
+            return ((ConcurrentPopulation) population).snapshot();
+        return PersistentTreeNode.copyOf(population);
+    }
+
+    /**
+     * Replaces the corporation's population by the animals of a snapshot and recounts the moods of the animals.
+     *
+     * <p>A {@code ConcurrentPopulation} and a {@code PopulationStore} are restored in place, so they keep their
+     * type (and the factories of a store remain valid). Any other population is replaced by the (persistent)
+     * snapshot itself, so further snapshots take O(1) time.</p>
+     *
+     * @param snapshot a snapshot taken by {@code snapshot()}; other trees are copied first.<br>
+     *                 Precondition: snapshot != null.
+     */
+    public void restore(AbstractTreeNode snapshot){
+        if (population instanceof ConcurrentPopulation)
+            ((ConcurrentPopulation) population).restore(snapshot);
+        else if (population instanceof PopulationStore)
+            ((PopulationStore) population).restore(snapshot);
+        else
+            population = PersistentTreeNode.copyOf(snapshot);
+        resetMoodCounters();
+    }
+
+    /**
+     * Saves the corporation's population to a binary file (see {@code PopulationSnapshot}), replacing an existing
+     * file.
+     *
+     * @param file the path of the file.
+     * @return the number of saved animals (animals of species other than Tyrannosaurus rex and Edmontosaurus are not
+     * saved).
+     * @throws IOException if writing fails.
+     */
+    public int savePopulation(Path file) throws IOException {
+        return PopulationSnapshot.save(population, file);
+    }
+
+    /**
+     * Replaces the corporation's population by a population loaded from a file written by {@code savePopulation()}
+     * and recounts the moods of the animals.
+     *
+     * <p>The animals are bulk-loaded into a balanced {@code AVLTreeNode} tree, which replaces the population.
+     * A {@code ConcurrentPopulation} or {@code PopulationStore} is restored in place instead, so it keeps its type. If
+     * loading fails, the population is unchanged.</p>
+     *
+     * @param file the path of the file.
+     * @throws IOException if reading fails or the file is not a valid population file.
+     */
+    public void loadPopulation(Path file) throws IOException {
+        AbstractTreeNode loaded = PopulationSnapshot.load(file);
+        if (population instanceof ConcurrentPopulation)
+            ((ConcurrentPopulation) population).restore(loaded);
+        else if (population instanceof PopulationStore)
+            ((PopulationStore) population).restore(loaded);
+        else
+            population = loaded;
+        resetMoodCounters();
+    }
+
+    private void resetMoodCounters(){
+        int[] counts = recountMoods();
+        for (int i = 0; i < MOODS; i++)
+            moodCounts.set(i, counts[i]);
     }
 
     /**
@@ -43,17 +233,14 @@ public class DinoCorp {
      *
      * @param dinoFactory a specialized implementation of the AbstractDinosaurFactory responsible for creating specific dinosaurs.
      * @param name the name associated with the factory being registered.
-     * @return the index at which the factory was added to the corporations factories array.
+     * @return the id (index) of the factory within the corporation's {@code FactoryRegistry}, or -1 if the factory or
+     * name is {@code null}.
      */
     public int registerFactory(AbstractDinosaurFactory dinoFactory, String name){
-        boolean added = false;
-        if (dinoFactory != null && factoryCount < MAX_FACTORIES) {
-            factories[factoryCount] = dinoFactory;
-            factoryNames[factoryCount] = name;
-            factoryCount++;
-            added = true;
-        }
-        return added ? factoryCount - 1 : -1;
+        int id = factories.register(dinoFactory, name);
+        if (id >= 0)
+            program = null;
+        return id;
     }
 
     /**
@@ -63,16 +250,10 @@ public class DinoCorp {
      * @return true if the factory was successfully activated, false if no factory with the given name is found
      */
     private boolean activateFactory(String factoryName){
-        int idx = 0;
-        boolean found = false;
-        while (idx < factoryCount && !found) {
-            if (factoryNames[idx].equals(factoryName)){
-                found = true;
-                activeFactoryIdx = idx;
-            }
-            idx++;
-        }
-        return found;
+        int id = factories.getId(factoryName);
+        if (id >= 0)
+            activeFactoryIdx = id;
+        return id >= 0;
     }
 
     /**
@@ -85,6 +266,7 @@ public class DinoCorp {
         orders = new String[productionOrders.length];
         System.arraycopy(productionOrders, 0, orders, 0, productionOrders.length);
         currentOrder = 0;
+        program = null;
     }
 
     /**
@@ -112,13 +294,8 @@ public class DinoCorp {
                     succeeded = activateFactory(parts[1]);
             } else if (Character.isLetter(orders[currentOrder].charAt(0)) && activeFactoryIdx >= 0) {
                 String[] parts = orders[currentOrder].split("!");
-                if (parts.length == 2) {
-                    Dinosaur dino = getActiveFactory().create(Integer.parseInt(parts[1]), parts[0]);
-                    if (dino != null) {
-                        population = population.store(dino);
-                        succeeded = true;
-                    }
-                }
+                if (parts.length == 2)
+                    succeeded = createAnimal(getActiveFactory(), Integer.parseInt(parts[1]), parts[0]);
             }
         }
         if (succeeded || (currentOrder < orders.length && (orders[currentOrder] == null || orders[currentOrder].length() == 0)))
@@ -126,32 +303,292 @@ public class DinoCorp {
         return succeeded;
     }
 
+    /**
+     * Processes all remaining production orders in one batch, with the same effect as calling
+     * {@code processNextOrder()} for each of them.
+     *
+     * <p>The orders are compiled into an {@code OrderProgram} first (once after {@code setOrders()} or
+     * {@code registerFactory()}), so each order is parsed only once and factories are activated by their index
+     * instead of being searched by name. Processing stops at the first order that fails, which remains the next
+     * order to be processed; empty orders are passed over. Unlike {@code processNextOrder()}, an order with a DNA that
+     * is no valid {@code int} fails instead of throwing a {@code NumberFormatException}.</p>
+     *
+     * @return the number of orders successfully processed (factories activated or dinosaurs created).
+     */
+    public int processAll(){
+        if (program == null)
+            program = OrderProgram.compile(orders, factories);
+
+        int processed = 0;
+        while (currentOrder < program.size()) {
+            if (program.opcode(currentOrder) != OrderProgram.SKIP) {
+                if (!execute(program, currentOrder))
+                    return processed;
+                processed++;
+            }
+            currentOrder++;
+        }
+        return processed;
+    }
+
+    /**
+     * Executes a single instruction of a compiled order program.
+     *
+     * @param program the compiled orders.
+     * @param i       the index of the instruction.
+     * @return {@code true} if a factory was activated or a dinosaur was created, {@code false} otherwise.
+     */
+    boolean execute(OrderProgram program, int i){
+        switch (program.opcode(i)) {
+            case OrderProgram.ACTIVATE:
+                activeFactoryIdx = program.operand(i);
+                return true;
+            case OrderProgram.CREATE:
+                if (activeFactoryIdx < 0)
+                    return false;
+                return createAnimal(factories.get(activeFactoryIdx), program.operand(i), program.name(i));
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Creates an empty order program for the currently registered factories, to be filled by
+     * {@code OrderProgram.append()} and executed by {@code execute()}.
+     *
+     * @param capacity the expected number of orders.
+     * @return the empty program.
+     */
+    OrderProgram newProgram(int capacity){
+        return new OrderProgram(factories, capacity);
+    }
+
     /**
      * Feeds all dinosaurs in the corporation's population with the one specified type of food.
      *
+     * <p>The stored animals are not changed: every animal whose mood changes is replaced by a fed copy (see
+     * {@code fed()}), and all copies are stored at once by {@code storeFed()}.</p>
+     *
      * @param food the type of food to provide to the dinosaurs. This must be one of the {@code Dinosaur.Food} enum values (e.g., MEAT or PLANTS).
      */
     public void feed(Dinosaur.Food food){
-        Dinosaur[] dinos = population.flatten();
-        if (dinos != null)
-            for (Dinosaur dino : dinos)
-                dino.feed(food);
+        List<Dinosaur> changed = new ArrayList<>();
+        int[] deltas = new int[MOODS];
+        TreeTraversal.forEach(population, dino -> {
+            Dinosaur.Happiness before = dino.getHappiness();
+            Dinosaur fed = fed(dino, food);
+            if (fed.getHappiness() != before) {
+                deltas[before.ordinal()]--;
+                deltas[fed.getHappiness().ordinal()]++;
+                if (fed != dino)
+                    changed.add(fed);
+            }
+        });
+        storeFed(changed, deltas);
+    }
+
+    /**
+     * Feeds a dinosaur without changing it (copy-on-write): a Tyrannosaurus rex or an Edmontosaurus is copied with its
+     * new mood. Views of a {@code PopulationStore} are fed in place, as the rows of a store are never shared with
+     * snapshots; dinosaurs of other species can not be copied and are fed in place as well.
+     *
+     * @param dino the dinosaur to be fed.
+     * @param food the food provided to the dinosaur.
+     * @return the fed copy, or the dinosaur itself if it has been fed in place or its mood does not change.
+     */
+    private static Dinosaur fed(Dinosaur dino, Dinosaur.Food food){
+        if (!(dino instanceof TyrannosaurusRex) && !(dino instanceof Edmontosaurus)) {
+            dino.feed(food);
+            return dino;
+        }
+        Dinosaur.Happiness before = dino.getHappiness();
+        if (dino instanceof TyrannosaurusRex) {
+            Dinosaur.Happiness after = TyrannosaurusRex.feed(before, food);
+            return after == before ? dino : new TyrannosaurusRex(dino.getDNA(), dino.getName(), after);
+        }
+        Dinosaur.Happiness after = Edmontosaurus.feed(before, food);
+        return after == before ? dino : new Edmontosaurus(dino.getDNA(), dino.getName(), after);
+    }
+
+    /**
+     * Stores the fed copies of animals into the population, replacing the animals, and updates the mood counters.
+     *
+     * <p>A {@code ConcurrentPopulation} publishes all copies as one new version (see
+     * {@code ConcurrentPopulation.storeAll()}), so readers see the population either before or after feeding.</p>
+     *
+     * @param fed    the fed copies.
+     * @param deltas the change of the number of animals per mood, indexed by the mood's ordinal.
+     */
+    private void storeFed(List<Dinosaur> fed, int[] deltas){
+        if (population instanceof ConcurrentPopulation)
+            ((ConcurrentPopulation) population).storeAll(fed.toArray(new Dinosaur[0]));
+        else
+            for (Dinosaur dino : fed)
+                population = population.store(dino);
+        for (int i = 0; i < MOODS; i++)
+            if (deltas[i] != 0)
+                moodCounts.addAndGet(i, deltas[i]);
+    }
+
+    /**
+     * Feeds the corporation's population with food chosen per species (e.g. MEAT for every Tyrannosaurus rex and
+     * PLANTS for every Edmontosaurus), so all species can be fed properly in a single round.
+     *
+     * <p>The population is partitioned by the animals' classes (for views of a {@code PopulationStore}, the classes of
+     * the stored species). Partitions of more than a few thousand animals are split and fed in parallel on the common
+     * fork/join pool, smaller ones are fed by the calling thread. Like {@code feed(Food)}, the tasks only create fed
+     * copies of the animals; the copies and the mood counters are stored by the calling thread when all partitions
+     * are fed, so {@code countAnimalsByMood()} and the readers of a {@code ConcurrentPopulation} may be used by other
+     * threads while feeding is in progress. Orders must not be processed at the same time.</p>
+     *
+     * @param foodPolicy the food for each species, by the species' class. Animals of species without food in the
+     *                   policy are not fed.<br>
+     *                   Precondition: foodPolicy != null.
+     * @return the change of the number of animals per mood caused by feeding, indexed by the mood's ordinal.
+     */
+    public int[] feed(Map<Class<? extends Dinosaur>, Dinosaur.Food> foodPolicy){
+        Map<Class<?>, List<Dinosaur>> partitions = new HashMap<>();
+        TreeTraversal.forEach(population, dino -> {
+            Class<? extends Dinosaur> species = PopulationStore.speciesClass(dino);
+            if (foodPolicy.get(species) != null)
+                partitions.computeIfAbsent(species, key -> new ArrayList<>()).add(dino);
+        });
+
+        List<FeedingTask> tasks = new ArrayList<>();
+        List<FeedingTask> forked = new ArrayList<>();
+        int[] deltas = new int[MOODS];
+        for (Map.Entry<Class<?>, List<Dinosaur>> partition : partitions.entrySet()) {
+            Dinosaur[] animals = partition.getValue().toArray(new Dinosaur[0]);
+            FeedingTask task = new FeedingTask(animals, new Dinosaur[animals.length], 0, animals.length,
+                    foodPolicy.get(partition.getKey()));
+            tasks.add(task);
+            if (animals.length > FEEDING_THRESHOLD) {
+                task.fork();
+                forked.add(task);
+            } else {
+                addDeltas(deltas, task.compute());
+            }
+        }
+        for (FeedingTask task : forked)
+            addDeltas(deltas, task.join());
+
+        List<Dinosaur> changed = new ArrayList<>();
+        for (FeedingTask task : tasks)
+            for (int i = 0; i < task.animals.length; i++)
+                if (task.fed[i] != task.animals[i])
+                    changed.add(task.fed[i]);
+        storeFed(changed, deltas);
+        return deltas;
+    }
+
+    private static void addDeltas(int[] target, int[] deltas){
+        for (int i = 0; i < MOODS; i++)
+            target[i] += deltas[i];
+    }
+
+    /**
+     * Feeds a range of a partition (animals of one species) with one type of food, writing the fed animals (see
+     * {@code fed()}) to the same indices of {@code fed}. Ranges larger than {@code FEEDING_THRESHOLD} are split in
+     * halves that are fed in parallel.
+     */
+    private static class FeedingTask extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Dinosaur[] animals;     // tasks are never serialized
+        private final transient Dinosaur[] fed;
+        private final int from;
+        private final int to;
+        private final Dinosaur.Food food;
+
+        FeedingTask(Dinosaur[] animals, Dinosaur[] fed, int from, int to, Dinosaur.Food food){
+            this.animals = animals;
+            this.fed = fed;
+            this.from = from;
+            this.to = to;
+            this.food = food;
+        }
+
+        /**
+         * Feeds the range.
+         *
+         * @return the change of the number of animals per mood, indexed by the mood's ordinal.
+         */
+        @Override
+        protected int[] compute(){
+            if (to - from > FEEDING_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                FeedingTask lower = new FeedingTask(animals, fed, from, middle, food);
+                lower.fork();
+                int[] deltas = new FeedingTask(animals, fed, middle, to, food).compute();
+                addDeltas(deltas, lower.join());
+                return deltas;
+            }
+
+            int[] deltas = new int[MOODS];
+            for (int i = from; i < to; i++) {
+                Dinosaur.Happiness before = animals[i].getHappiness();
+                fed[i] = fed(animals[i], food);
+                Dinosaur.Happiness after = fed[i].getHappiness();
+                if (after != before) {
+                    deltas[before.ordinal()]--;
+                    deltas[after.ordinal()]++;
+                }
+            }
+            return deltas;
+        }
     }
 
     /**
      * Counts the number of dinosaurs in the corporation's dino population that match a specified emotional state.
      *
+     * <p>The number is taken from counters that are updated whenever an animal is stored, removed or fed by the
+     * corporation, so the population is not traversed. Animals fed directly (not by {@code feed()}) are not
+     * taken into account until the corporation is constructed again.</p>
+     *
      * @param mood the {@code Dinosaur.Happiness} enum value representing the emotional state to count in the population.
      * @return the number of dinosaurs in the population with the specified emotional state.
      */
     public int countAnimalsByMood(Dinosaur.Happiness mood){
-        int count = 0;
-        Dinosaur[] dinos = population.flatten();
-        if (dinos != null)
-            for (Dinosaur dino : dinos)
-                if (dino.getHappiness() == mood)
-                    count++;
-        return count;
+        return moodCounts.get(mood.ordinal());
+    }
+
+    /**
+     * Checks the mood counters used by {@code countAnimalsByMood()} against a full recount of the population.
+     *
+     * @return {@code true} if the counters match the moods of all animals of the population, {@code false} otherwise.
+     */
+    public boolean verifyMoodCounters(){
+        int[] counts = recountMoods();
+        for (int i = 0; i < MOODS; i++)
+            if (counts[i] != moodCounts.get(i))
+                return false;
+        return true;
+    }
+
+    /**
+     * Finds an animal of the corporation's population by its DNA.
+     *
+     * <p>If the population is a {@code ConcurrentPopulation}, this method (like {@code countAnimalsByMood()}) may be
+     * called by other threads while orders are processed; it never blocks.</p>
+     *
+     * @param dna the unique DNA of the animal.
+     * @return the animal, or {@code null} if there is no animal with this DNA.
+     */
+    public Dinosaur findAnimal(int dna){
+        return population.find(dna);
+    }
+
+    /**
+     * Iterates lazily over the animals of the corporation's population whose DNAs lie within a range (e.g. a lineage
+     * block), in ascending DNA order. Only the parts of the population tree within the range are visited (see
+     * {@code DinosaurTreeIterator}).
+     *
+     * @param fromDna the smallest DNA of the range (inclusive).
+     * @param toDna   the largest DNA of the range (inclusive).
+     * @return an iterator over the animals within the range.
+     */
+    public Iterator<Dinosaur> animalsInRange(int fromDna, int toDna){
+        return DinosaurTreeIterator.range(population, fromDna, toDna);
     }
 
     /**
@@ -161,7 +598,7 @@ public class DinoCorp {
      * @return the active {@code AbstractDinosaurFactory} instance, or {@code null} if no factory is currently active.
      */
     public AbstractDinosaurFactory getActiveFactory(){
-        return activeFactoryIdx >= 0 ? factories[activeFactoryIdx] : null;
+        return factories.get(activeFactoryIdx);
     }
 
 }
@@ -0,0 +1,174 @@
+package AB4;
+
+import AB4.Interfaces.AbstractTreeNode;
+import AB4.Interfaces.BinaryTreeNode;
+import AB4.Interfaces.Dinosaur;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The {@code DinosaurTreeIterator} class iterates lazily over the dinosaurs of a population tree in ascending DNA
+ * order.
+ *
+ * <p>The iterator holds only the path from the root to the next node (an explicit stack of O(height) nodes), so no
+ * array of the population is created. {@code seek(dna)} moves the iterator to the first dinosaur with a DNA of at least
+ * {@code dna} by descending a single path, and an iterator created by {@code range(tree, fromDna, toDna)} stops after
+ * the last dinosaur with a DNA of at most {@code toDna}. So iterating over the k dinosaurs of a range takes
+ * O(height + k) time; subtrees outside of the range are never visited.</p>
+ * <p>Like {@code TreeTraversal}, the iterator works on trees of {@code BinaryTreeNode}s, on the wrapped tree of an
+ * {@code IndexedPopulation} and on a snapshot of a {@code ConcurrentPopulation}; other trees are flattened once. The
+ * tree must not be changed while it is iterated (except for persistent trees, whose iterated version never changes).
+ * </p>
+ */
+public final class DinosaurTreeIterator implements Iterator<Dinosaur> {
+    private static final int INITIAL_STACK_SIZE = 64;
+
+    private final AbstractTreeNode tree;
+    private final Dinosaur[] flattened;     // sorted dinosaurs of a tree without BinaryTreeNodes, null otherwise
+    private final int toDna;
+
+    private BinaryTreeNode[] stack = new BinaryTreeNode[INITIAL_STACK_SIZE];
+    private int size = 0;
+    private int index = 0;                  // position within flattened
+    private Dinosaur next;                  // null if there is no next dinosaur
+
+    /**
+     * Constructs an iterator over all dinosaurs of a tree, starting at the dinosaur with the smallest DNA.
+     *
+     * @param tree the root of the tree.<br>
+     *             Precondition: tree != null.
+     */
+    public DinosaurTreeIterator(AbstractTreeNode tree) {
+        this(tree, Integer.MAX_VALUE);
+        seek(Integer.MIN_VALUE);
+    }
+
+    private DinosaurTreeIterator(AbstractTreeNode tree, int toDna) {
+        if (tree instanceof IndexedPopulation)
+            tree = ((IndexedPopulation) tree).getTree();
+        else if (tree instanceof ConcurrentPopulation)
+            tree = ((ConcurrentPopulation) tree).snapshot();
+        this.tree = tree;
+        this.flattened = tree instanceof BinaryTreeNode ? null : tree.flatten();
+        this.toDna = toDna;
+    }
+
+    /**
+     * Creates an iterator over the dinosaurs of a tree whose DNAs lie within a range.
+     *
+     * @param tree    the root of the tree.<br>
+     *                Precondition: tree != null.
+     * @param fromDna the smallest DNA of the range (inclusive).
+     * @param toDna   the largest DNA of the range (inclusive).
+     * @return the iterator, which has no dinosaurs if {@code fromDna > toDna}.
+     */
+    public static DinosaurTreeIterator range(AbstractTreeNode tree, int fromDna, int toDna) {
+        DinosaurTreeIterator iterator = new DinosaurTreeIterator(tree, toDna);
+        iterator.seek(fromDna);
+        return iterator;
+    }
+
+    /**
+     * Moves the iterator to the first dinosaur whose DNA is greater than or equal to the given DNA.
+     *
+     * <p>The iterator may be moved backwards as well as forwards. Only the path from the root to this dinosaur is
+     * visited.</p>
+     *
+     * @param dna the DNA to seek.
+     */
+    public void seek(int dna) {
+        if (flattened != null) {
+            int low = 0, high = flattened.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (flattened[middle].getDNA() < dna)
+                    low = middle + 1;
+                else
+                    high = middle;
+            }
+            index = low;
+            advance();
+            return;
+        }
+
+        Arrays.fill(stack, 0, size, null);
+        size = 0;
+        AbstractTreeNode current = tree;
+        while (current instanceof BinaryTreeNode) {
+            BinaryTreeNode node = (BinaryTreeNode) current;
+            if (dna > node.getKey()) {
+                current = node.getRight();      // the node and its left subtree are skipped
+            } else {
+                push(node);
+                if (dna == node.getKey())
+                    break;
+                current = node.getLeft();
+            }
+        }
+        advance();
+    }
+
+    private void push(BinaryTreeNode node) {
+        if (size == stack.length)
+            stack = Arrays.copyOf(stack, size * 2);
+        stack[size++] = node;
+    }
+
+    /**
+     * Finds the next dinosaur of the range, skipping nodes without a dinosaur.
+     */
+    private void advance() {
+        next = null;
+        if (flattened != null) {
+            if (index < flattened.length && flattened[index].getDNA() <= toDna)
+                next = flattened[index++];
+            return;
+        }
+
+        while (size > 0) {
+            BinaryTreeNode node = stack[--size];
+            stack[size] = null;
+            if (node.getKey() > toDna) {        // all following nodes are out of range
+                Arrays.fill(stack, 0, size, null);
+                size = 0;
+                return;
+            }
+            AbstractTreeNode current = node.getRight();
+            while (current instanceof BinaryTreeNode) {
+                push((BinaryTreeNode) current);
+                current = ((BinaryTreeNode) current).getLeft();
+            }
+            if (node.getAnimal() != null) {
+                next = node.getAnimal();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Checks whether there is a next dinosaur.
+     *
+     * @return {@code true} if there is a next dinosaur within the range, {@code false} otherwise.
+     */
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    /**
+     * Returns the next dinosaur in ascending DNA order.
+     *
+     * @return the next dinosaur.
+     * @throws NoSuchElementException if there is no next dinosaur.
+     */
+    @Override
+    public Dinosaur next() {
+        if (next == null)
+            throw new NoSuchElementException();
+        Dinosaur result = next;
+        advance();
+        return result;
+    }
+}
@@ -35,6 +35,19 @@ public class Edmontosaurus implements Dinosaur {
         happiness = Happiness.HAPPY;
     }
 
+    /**
+     * Constructor restoring a Edmontosaurus with a given happiness state (e.g. when a saved population is loaded).
+     *
+     * @param dna       integer encoded genetic code for this Edmontosaurus.
+     * @param name      name assigned to this animal at the moment of birth.
+     * @param happiness the current happiness state of this animal.
+     */
+    Edmontosaurus(int dna, String name, Happiness happiness) {
+        this.dna = dna;
+        this.name = name;
+        this.happiness = happiness;
+    }
+
     /**
      * Retrieves the DNA sequence associated with this Edmontosaurus instance.
      *
@@ -82,6 +95,18 @@ public class Edmontosaurus implements Dinosaur {
      */
     @Override
     public Happiness feed(Food food) {
+        happiness = feed(happiness, food);
+        return happiness;
+    }
+
+    /**
+     * Calculates the happiness state of an Edmontosaurus after being fed (see {@code feed(Food)}).
+     *
+     * @param happiness the happiness state before feeding.
+     * @param food      the food item provided to the dinosaur.
+     * @return the happiness state after feeding.
+     */
+    static Happiness feed(Happiness happiness, Food food) {
         switch (food) {
             case PLANTS:
                 happiness = Happiness.HAPPY;
@@ -108,6 +133,17 @@ public class Edmontosaurus implements Dinosaur {
      * @return a string, combining species, name and current danger status indicator.
      */
     public String toString(){
+        return toString(name, happiness);
+    }
+
+    /**
+     * Returns the string representation of an Edmontosaurus (see {@code toString()}).
+     *
+     * @param name      the dino's name.
+     * @param happiness the dino's happiness state.
+     * @return a string, combining species, name and current danger status indicator.
+     */
+    static String toString(String name, Happiness happiness){
         return String.format("%s %s [OK]", Edmontosaurus.TYPE, name);
     }
 
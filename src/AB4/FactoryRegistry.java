@@ -0,0 +1,77 @@
+package AB4;
+
+import AB4.Interfaces.AbstractDinosaurFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code FactoryRegistry} class holds the dinosaur factories of a corporation, identified by their names and by
+ * ids (consecutive numbers starting at 0, in order of registration).
+ *
+ * <p>There is no limit on the number of factories. Names are looked up by a hash map in O(1) time, ids by an array.
+ * Factories may be registered by several threads concurrently; lookups never block. If several factories are
+ * registered by the same name, the name refers to the first one.</p>
+ */
+public class FactoryRegistry {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile AbstractDinosaurFactory[] factories = new AbstractDinosaurFactory[INITIAL_CAPACITY];
+    private volatile int size = 0;
+
+    /**
+     * Registers a factory by a name.
+     *
+     * @param factory the factory to be registered.
+     * @param name    the name associated with the factory.
+     * @return the id of the factory, or -1 if {@code factory} or {@code name} is {@code null}.
+     */
+    public synchronized int register(AbstractDinosaurFactory factory, String name) {
+        if (factory == null || name == null)
+            return -1;
+        AbstractDinosaurFactory[] current = factories;
+        if (size == current.length) {
+            AbstractDinosaurFactory[] larger = new AbstractDinosaurFactory[size * 2];
+            System.arraycopy(current, 0, larger, 0, size);
+            current = larger;
+        }
+        int id = size;
+        current[id] = factory;
+        factories = current;
+        size = id + 1;
+        ids.putIfAbsent(name, id);
+        return id;
+    }
+
+    /**
+     * Returns the id of the factory registered by the given name.
+     *
+     * @param name the name of the factory.
+     * @return the id of the (first) factory registered by this name, or -1 if there is no such factory.
+     */
+    public int getId(String name) {
+        Integer id = name != null ? ids.get(name) : null;
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Returns the factory with the given id.
+     *
+     * @param id the id of the factory.
+     * @return the factory, or {@code null} if no factory has this id.
+     */
+    public AbstractDinosaurFactory get(int id) {
+        int registered = size;      // read before the array, which holds at least this many factories
+        AbstractDinosaurFactory[] current = factories;
+        return id >= 0 && id < registered ? current[id] : null;
+    }
+
+    /**
+     * Returns the number of registered factories.
+     *
+     * @return the number of factories.
+     */
+    public int size() {
+        return size;
+    }
+}
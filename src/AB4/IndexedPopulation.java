@@ -0,0 +1,148 @@
+package AB4;
+
+import AB4.Interfaces.AbstractTreeNode;
+import AB4.Interfaces.Dinosaur;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Represents a population tree with a secondary index of the dinosaurs' names.
+ *
+ * <p>The {@code IndexedPopulation} wraps a DNA-keyed tree (e.g. {@code NonEmptyTreeNode} or {@code AVLTreeNode})
+ * and maintains a sorted index that maps each name to the DNAs of all dinosaurs called by this name. The index is
+ * updated by every {@code store} and {@code remove}, so {@code findByName} takes O(log n) time instead of scanning the
+ * whole tree, and all dinosaurs whose names start with a given prefix can be found by a range scan of the index.</p>
+ * <p>Dinosaurs must only be stored into and removed from the population through this object, not through the
+ * wrapped tree, otherwise the index gets out of date. Dinosaurs without a name are not indexed.</p>
+ */
+public class IndexedPopulation implements AbstractTreeNode {
+    private AbstractTreeNode tree;
+    private final TreeMap<String, TreeSet<Integer>> names = new TreeMap<>();     // name -> DNAs of all dinosaurs with this name
+
+    /**
+     * Constructs an {@code IndexedPopulation} for the given tree and indexes all dinosaurs already stored in it.
+     *
+     * @param tree the root of the DNA-keyed tree to be wrapped (e.g. {@code EmptyTreeNode.NIL} for an empty population).
+     *             <p>Precondition: ( tree != null )</p>
+     */
+    public IndexedPopulation(AbstractTreeNode tree) {
+        this.tree = tree;
+        TreeTraversal.forEach(tree, this::index);
+    }
+
+    private void index(Dinosaur animal) {
+        if (animal.getName() != null)
+            names.computeIfAbsent(animal.getName(), name -> new TreeSet<>()).add(animal.getDNA());
+    }
+
+    private void unindex(Dinosaur animal) {
+        if (animal == null || animal.getName() == null)
+            return;
+        TreeSet<Integer> dnas = names.get(animal.getName());
+        if (dnas != null) {
+            dnas.remove(animal.getDNA());
+            if (dnas.isEmpty())
+                names.remove(animal.getName());
+        }
+    }
+
+    /**
+     * Stores a new dinosaur within the tree and adds it to the name index.
+     *
+     * <p>If a dinosaur with the same DNA is already stored, it is replaced, and its name is removed from the index.</p>
+     *
+     * @param animal the new dinosaur to be stored within the tree.
+     * @return this population.
+     */
+    @Override
+    public AbstractTreeNode store(Dinosaur animal) {
+        if (animal != null) {
+            unindex(tree.find(animal.getDNA()));
+            tree = tree.store(animal);
+            index(animal);
+        }
+        return this;
+    }
+
+    /**
+     * Removes a dinosaur from the tree and from the name index.
+     *
+     * @param dna the individual DNA of the dinosaur to be removed.
+     * @return this population (which is empty if the last dinosaur was removed).
+     */
+    @Override
+    public AbstractTreeNode remove(int dna) {
+        unindex(tree.find(dna));
+        tree = tree.remove(dna);
+        return this;
+    }
+
+    /**
+     * Finds and returns a Dinosaur object in the tree based on its unique DNA.
+     *
+     * @param dna the unique DNA encoded as {@code int} of the dinosaur to be found.
+     * @return the dinosaur object with the specified DNA, or {@code null} if no such dinosaur exists in the tree.
+     */
+    @Override
+    public Dinosaur find(int dna) {
+        return tree.find(dna);
+    }
+
+    /**
+     * Finds a dinosaur by its name using the name index.
+     *
+     * <p>If several dinosaurs are called by this name, the one with the smallest DNA is returned.</p>
+     *
+     * @param name the name of the dinosaur to locate
+     * @return the dinosaur object with the specified name, or {@code null} if no such dinosaur is found
+     */
+    @Override
+    public Dinosaur findByName(String name) {
+        TreeSet<Integer> dnas = names.get(name);
+        return dnas != null ? tree.find(dnas.first()) : null;
+    }
+
+    /**
+     * Finds all dinosaurs whose names start with the given prefix (e.g. all dinosaurs called "Rex...").
+     *
+     * @param prefix the beginning of the names.
+     *               <p>Precondition: ( prefix != null )</p>
+     * @return an array of the matching dinosaurs, sorted by name and, for equal names, by DNA; an empty array if
+     * no name starts with the prefix.
+     */
+    public Dinosaur[] findByNamePrefix(String prefix) {
+        NavigableMap<String, TreeSet<Integer>> range = names.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        int count = 0;
+        for (TreeSet<Integer> dnas : range.values())
+            count += dnas.size();
+
+        Dinosaur[] result = new Dinosaur[count];
+        int i = 0;
+        for (Map.Entry<String, TreeSet<Integer>> entry : range.entrySet())
+            for (int dna : entry.getValue())
+                result[i++] = tree.find(dna);
+        return result;
+    }
+
+    /**
+     * Flattens the tree into an array of all dinosaurs, sorted by their DNA in ascending order.
+     *
+     * @return an array of non-null {@code Dinosaur} objects representing all the dinosaurs in the tree.
+     */
+    @Override
+    public Dinosaur[] flatten() {
+        return tree.flatten();
+    }
+
+    /**
+     * Returns the wrapped DNA-keyed tree. It must not be modified directly.
+     *
+     * @return the root of the wrapped tree.
+     */
+    public AbstractTreeNode getTree() {
+        return tree;
+    }
+}
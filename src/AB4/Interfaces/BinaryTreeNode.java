@@ -0,0 +1,39 @@
+package AB4.Interfaces;
+
+/**
+ * Interface for a non-empty node of a binary search tree of dinosaurs.
+ *
+ * <p>Gives read access to the structure of the tree, so it can be traversed without recursion and without
+ * intermediate arrays (see {@code TreeTraversal}). Keys in the left subtree are smaller and keys in the right subtree
+ * are larger than the node's key. Missing child nodes are empty tree nodes (not {@code null}), which do not implement
+ * this interface.</p>
+ */
+public interface BinaryTreeNode extends AbstractTreeNode {
+    /**
+     * Returns the key of the node, the DNA of the dinosaur stored in the node.
+     *
+     * @return the key of the node.
+     */
+    int getKey();
+
+    /**
+     * Returns the dinosaur stored in the node.
+     *
+     * @return the dinosaur, or {@code null} if the node holds no dinosaur.
+     */
+    Dinosaur getAnimal();
+
+    /**
+     * Returns the left child node.
+     *
+     * @return the left child node, never {@code null}.
+     */
+    AbstractTreeNode getLeft();
+
+    /**
+     * Returns the right child node.
+     *
+     * @return the right child node, never {@code null}.
+     */
+    AbstractTreeNode getRight();
+}
@@ -1,18 +1,19 @@
 package AB4;
 
 import AB4.Interfaces.AbstractTreeNode;
+import AB4.Interfaces.BinaryTreeNode;
 import AB4.Interfaces.Dinosaur;
 
 /**
  * Represents a non-empty node in a binary tree structure.
  *
- * <p>This class implements the {@code AbstractTreeNode} interface and encapsulates the functionality
+ * <p>This class implements the {@code AbstractTreeNode} (and {@code BinaryTreeNode}) interface and encapsulates the functionality
  * of storing and retrieving a {@code Dinosaur} within a binary tree.</p>
- * <p>Each {@code NonEmptyTreeNode} instance represents a node for a specific DNA (key) and may contain a {@code Dinosaur}
- * as its value. The node also contains references to its left and right child nodes, where the left child's key is
+ * <p>Each {@code NonEmptyTreeNode} instance represents a node for a specific DNA (key) and contains a {@code Dinosaur}
+ * as its value; nodes of removed dinosaurs are removed from the tree. The node also contains references to its left and right child nodes, where the left child's key is
  * smaller than the node's key and the right child's key is larger than the node's key. Child nodes are always non-null.</p>
  */
-public class NonEmptyTreeNode implements AbstractTreeNode {
+public class NonEmptyTreeNode implements BinaryTreeNode {
     // TODO: variable declarations
     private AbstractTreeNode left;
     private AbstractTreeNode right;
@@ -59,23 +60,41 @@ public class NonEmptyTreeNode implements AbstractTreeNode {
     /**
      * Removes the dinosaur identified by the given DNA from the tree.
      *
-     * <p>The method clears the value (payload) of the node (set value to null) if the DNA matches the key of the current node.
-     * If the current node does not have any child nodes after removal, it transitions into an empty node (NIL).</p>
+     * <p>If the DNA matches the key of the current node, the node itself is removed from the tree:<br>
+     * - A node without a left (right) child is replaced by its right (left) child, which is {@code EmptyTreeNode.NIL}
+     *   for a leaf.<br>
+     * - A node with two children is replaced by its in-order successor, the node with the smallest key of the right
+     *   subtree: the successor's key and value are moved into the current node, and the successor is spliced out of
+     *   the right subtree by replacing it with its right child.</p>
      *
      * <p>If the DNA does not match the key, the operation is delegated to the left or right child node
      * based on whether the DNA is less than or greater than the key of the current node.</p>
      *
      * @param dna the unique integer encoded DNA of the dinosaur to be removed.
-     * @return the current tree node after the removal operation or {@code EmptyTreeNode.NIL} after transitioning to an empty node.
+     * @return the node the parent node should refer to after the removal operation: the current node, one of its
+     * child nodes, or {@code EmptyTreeNode.NIL} if a leaf was removed.
      */
     @Override
     public AbstractTreeNode remove(int dna) {
         if (dna == this.dna) {
-            animal = null;
-            if (hasNoChildren(this))
-                return EmptyTreeNode.NIL;
+            if (!(left instanceof NonEmptyTreeNode))
+                return right;
+            if (!(right instanceof NonEmptyTreeNode))
+                return left;
+
+            NonEmptyTreeNode parent = this;
+            NonEmptyTreeNode successor = (NonEmptyTreeNode) right;
+            while (successor.left instanceof NonEmptyTreeNode) {
+                parent = successor;
+                successor = (NonEmptyTreeNode) successor.left;
+            }
+            if (parent == this)
+                right = successor.right;
             else
-                return this;
+                parent.left = successor.right;
+            this.dna = successor.dna;
+            animal = successor.animal;
+            return this;
         } else if (dna < this.dna) {
             left = left.remove(dna);
             return this;
@@ -134,33 +153,18 @@ public class NonEmptyTreeNode implements AbstractTreeNode {
         return null;
     }
 
-    private boolean hasNoChildren(NonEmptyTreeNode node) {
-        return node.left instanceof EmptyTreeNode && node.right instanceof EmptyTreeNode;
-    }
-
     /**
      * Flattens the tree into an array of Dinosaur objects using an in-order traversal.
      *
-     * <p>This method iterates through the tree's structure by performing:<br>
-     * 1. A recursive flattening of the left subtree.<br>
-     * 2. Adding the current node's value if it exists, so it is not equal to {@code null}.<br>
-     * 3. A recursive flattening of the right subtree.</p>
+     * <p>The dinosaurs are counted first, then a single array of this size is filled by an iterative in-order
+     * traversal (see {@code TreeTraversal}), so flattening takes linear time and works for trees of any depth.</p>
      *
      * @return an array of {@code Dinosaur} objects representing all dinosaurs in the tree,
      * sorted by their DNA in ascending order.
      */
     @Override
     public Dinosaur[] flatten() {
-        Dinosaur[] leftList = left.flatten();
-        Dinosaur[] leftResult = new Dinosaur[(animal != null ? leftList.length + 1 : leftList.length)];
-        System.arraycopy(leftList, 0, leftResult, 0, leftList.length);
-        if (animal != null)
-            leftResult[leftResult.length - 1] = animal;
-        Dinosaur[] rightList = right.flatten();
-        Dinosaur[] result = new Dinosaur[leftResult.length + rightList.length];
-        System.arraycopy(leftResult, 0, result, 0, leftResult.length);
-        System.arraycopy(rightList, 0, result, leftResult.length, rightList.length);
-        return result;
+        return TreeTraversal.flatten(this);
     }
 
     // GETTERS AND SETTERS
@@ -170,15 +174,27 @@ public class NonEmptyTreeNode implements AbstractTreeNode {
      *
      * @return the key of the current tree node, represented as an {@code int}.
      */
+    @Override
     public int getKey() {
         return dna;
     }
 
+    /**
+     * Retrieves the dinosaur stored in the current tree node.
+     *
+     * @return the dinosaur (value) of the current tree node.
+     */
+    @Override
+    public Dinosaur getAnimal() {
+        return animal;
+    }
+
     /**
      * Retrieves the left child node of the current tree node.
      *
      * @return the left child node represented as an {@code AbstractTreeNode}.
      */
+    @Override
     public AbstractTreeNode getLeft() {
         return left;
     }
@@ -188,6 +204,7 @@ public class NonEmptyTreeNode implements AbstractTreeNode {
      *
      * @return the right child node represented as an {@code AbstractTreeNode}.
      */
+    @Override
     public AbstractTreeNode getRight() {
         return right;
     }
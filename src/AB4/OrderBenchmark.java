@@ -0,0 +1,52 @@
+package AB4;
+
+import java.util.Random;
+
+/**
+ * Compares the throughput of processing production orders one by one ({@code processNextOrder()}, which parses each
+ * order when it is processed) with the compiled batch processing ({@code processAll()}).
+ *
+ * <p>Both runs process the same orders, dinosaurs are stored in an AVL tree. Argument (optional): number of
+ * orders.</p>
+ */
+public class OrderBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        String[] orders = new String[n];
+        Random random = new Random(42);
+        for (int i = 0; i < n; i++) {
+            if (i % 100 == 0)
+                orders[i] = random.nextBoolean() ? "#TREX" : "#EDMONTOSAURUS";
+            else
+                orders[i] = "Dino" + (i % 1000) + "!" + random.nextInt(Integer.MAX_VALUE);
+        }
+
+        for (int round = 0; round < 3; round++) {   // first rounds warm up the JIT compiler
+            DinoCorp corp = createCorp(orders);
+            long start = System.nanoTime();
+            int processed = 0;
+            while (corp.processNextOrder())
+                processed++;
+            long legacy = System.nanoTime() - start;
+
+            corp = createCorp(orders);
+            start = System.nanoTime();
+            int compiled = corp.processAll();
+            long batch = System.nanoTime() - start;
+
+            System.out.printf("processNextOrder: %d orders in %7.1f ms (%5.2f M orders/s), "
+                            + "processAll: %d orders in %7.1f ms (%5.2f M orders/s)%n",
+                    processed, legacy / 1e6, processed * 1e3 / legacy, compiled, batch / 1e6, compiled * 1e3 / batch);
+        }
+    }
+
+    private static DinoCorp createCorp(String[] orders) {
+        DinoCorp corp = new DinoCorp(AVLTreeNode.EMPTY);
+        corp.registerFactory(new TRexFactory(), "TREX");
+        corp.registerFactory(new EdSFactory(), "EDMONTOSAURUS");
+        corp.setOrders(orders);
+        return corp;
+    }
+}
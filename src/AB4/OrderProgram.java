@@ -0,0 +1,218 @@
+package AB4;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@code OrderProgram} class is the compiled form of a list of production orders (see
+ * {@code DinoCorp.processNextOrder()}).
+ *
+ * <p>Each order is parsed once into an instruction of the program, consisting of an opcode and its operands:</p>
+ * <pre>
+ *     SKIP      empty (or null) order, which is passed over
+ *     ACTIVATE  "#NAME", operand: id of the factory to be activated (see {@code FactoryRegistry})
+ *     CREATE    "Name!DNA", operands: DNA and (interned) name of the dinosaur to be created
+ *     INVALID   order that can not be processed (invalid format, unknown factory or DNA out of range)
+ * </pre>
+ * <p>Instruction i is the compiled form of order i. Orders are parsed without regular expressions and without
+ * {@code Integer.parseInt}, but accept exactly the orders accepted by {@code processNextOrder()}: trailing '#' or '!'
+ * characters are ignored, the DNA may have a sign and must fit into an {@code int}. Factory names are resolved when
+ * the program is compiled, so it has to be compiled again when factories are registered.</p>
+ */
+class OrderProgram {
+    static final byte SKIP = 0;
+    static final byte ACTIVATE = 1;
+    static final byte CREATE = 2;
+    static final byte INVALID = 3;
+
+    private final FactoryRegistry factories;
+    private final Map<String, String> namePool = new HashMap<>();    // interned dinosaur names
+
+    private byte[] opcodes;
+    private int[] operands;     // factory id (ACTIVATE) or DNA (CREATE)
+    private String[] names;     // dinosaur name (CREATE)
+    private int size = 0;
+
+    /**
+     * Constructs an empty {@code OrderProgram}.
+     *
+     * @param factories the registered factories.<br>
+     *                  Precondition: factories != null.
+     * @param capacity  the expected number of orders.
+     */
+    OrderProgram(FactoryRegistry factories, int capacity) {
+        this.factories = factories;
+        opcodes = new byte[Math.max(capacity, 16)];
+        operands = new int[opcodes.length];
+        names = new String[opcodes.length];
+    }
+
+    /**
+     * Compiles a list of orders.
+     *
+     * @param orders    the orders to be compiled.<br>
+     *                  Precondition: orders != null.
+     * @param factories the registered factories.<br>
+     *                  Precondition: factories != null.
+     * @return the program holding one instruction per order.
+     */
+    static OrderProgram compile(String[] orders, FactoryRegistry factories) {
+        OrderProgram program = new OrderProgram(factories, orders.length);
+        for (String order : orders) {
+            if (order == null)
+                program.add(SKIP, 0, null);
+            else
+                program.append(order, 0, order.length());
+        }
+        return program;
+    }
+
+    /**
+     * Parses an order and appends its instruction to the program.
+     *
+     * @param order the text holding the order.<br>
+     *              Precondition: order != null.
+     * @param from  the index of the order's first character.
+     * @param to    the index after the order's last character.
+     * @return the opcode of the appended instruction.
+     */
+    byte append(CharSequence order, int from, int to) {
+        if (from >= to)
+            return add(SKIP, 0, null);
+
+        char first = order.charAt(from);
+        if (first == '#') {
+            int end = stripTrailing(order, from + 1, to, '#');
+            if (end == from + 1 || indexOf(order, from + 1, end, '#') >= 0)
+                return add(INVALID, 0, null);
+            int id = factories.getId(order.subSequence(from + 1, end).toString());
+            return id >= 0 ? add(ACTIVATE, id, null) : add(INVALID, 0, null);
+        }
+
+        if (Character.isLetter(first)) {
+            int end = stripTrailing(order, from, to, '!');
+            int separator = indexOf(order, from, end, '!');
+            if (separator < 0 || indexOf(order, separator + 1, end, '!') >= 0)
+                return add(INVALID, 0, null);
+            long dna = parseInt(order, separator + 1, end);
+            if (dna == Long.MIN_VALUE)
+                return add(INVALID, 0, null);
+            String name = order.subSequence(from, separator).toString();
+            String interned = namePool.putIfAbsent(name, name);
+            return add(CREATE, (int) dna, interned != null ? interned : name);
+        }
+
+        return add(INVALID, 0, null);
+    }
+
+    private byte add(byte opcode, int operand, String name) {
+        if (size == opcodes.length) {
+            int capacity = size * 2;
+            byte[] newOpcodes = new byte[capacity];
+            int[] newOperands = new int[capacity];
+            String[] newNames = new String[capacity];
+            System.arraycopy(opcodes, 0, newOpcodes, 0, size);
+            System.arraycopy(operands, 0, newOperands, 0, size);
+            System.arraycopy(names, 0, newNames, 0, size);
+            opcodes = newOpcodes;
+            operands = newOperands;
+            names = newNames;
+        }
+        opcodes[size] = opcode;
+        operands[size] = operand;
+        names[size] = name;
+        size++;
+        return opcode;
+    }
+
+    private static int stripTrailing(CharSequence text, int from, int to, char c) {
+        while (to > from && text.charAt(to - 1) == c)
+            to--;
+        return to;
+    }
+
+    private static int indexOf(CharSequence text, int from, int to, char c) {
+        for (int i = from; i < to; i++)
+            if (text.charAt(i) == c)
+                return i;
+        return -1;
+    }
+
+    /**
+     * Parses a decimal integer like {@code Integer.parseInt()}, but without creating a String or throwing an
+     * exception.
+     *
+     * @param text the text holding the number.
+     * @param from the index of the first character (optional sign or first digit).
+     * @param to   the index after the last digit.
+     * @return the number, or {@code Long.MIN_VALUE} if the text is no valid number or out of the range of {@code int}.
+     */
+    static long parseInt(CharSequence text, int from, int to) {
+        boolean negative = false;
+        if (from < to && (text.charAt(from) == '-' || text.charAt(from) == '+')) {
+            negative = text.charAt(from) == '-';
+            from++;
+        }
+        if (from >= to)
+            return Long.MIN_VALUE;
+
+        long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = Character.digit(text.charAt(i), 10);
+            if (digit < 0)
+                return Long.MIN_VALUE;
+            value = value * 10 + digit;
+            if (value > limit)
+                return Long.MIN_VALUE;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Removes all instructions (and interned names), so the program can be reused for further orders.
+     */
+    void clear() {
+        size = 0;
+        namePool.clear();
+    }
+
+    /**
+     * Returns the number of instructions.
+     *
+     * @return the number of compiled orders.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the opcode of an instruction.
+     *
+     * @param i the index of the instruction.
+     * @return one of {@code SKIP}, {@code ACTIVATE}, {@code CREATE} or {@code INVALID}.
+     */
+    byte opcode(int i) {
+        return opcodes[i];
+    }
+
+    /**
+     * Returns the operand of an instruction.
+     *
+     * @param i the index of the instruction.
+     * @return the factory id (ACTIVATE) or the DNA (CREATE).
+     */
+    int operand(int i) {
+        return operands[i];
+    }
+
+    /**
+     * Returns the dinosaur name of a CREATE instruction.
+     *
+     * @param i the index of the instruction.
+     * @return the interned name, or {@code null} for other instructions.
+     */
+    String name(int i) {
+        return names[i];
+    }
+}
@@ -0,0 +1,153 @@
+package AB4;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * The {@code OrderStream} class reads production orders (one per line) from a file or {@code Reader} and processes
+ * them incrementally, without holding all orders in memory.
+ *
+ * <p>Orders are read into a fixed buffer and parsed directly from it (see {@code OrderProgram}); only lines crossing
+ * the end of the buffer are copied into a reusable line buffer, so no String is created per line except for the names
+ * of created dinosaurs. The parsed orders are executed in batches by {@code DinoCorp} with the same effect as
+ * {@code processNextOrder()}, with one difference: an order that fails can not be retried later, so it is counted as
+ * failed and dropped, and processing continues with the next order. Empty lines are skipped.</p>
+ */
+public class OrderStream implements Closeable {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int BATCH_SIZE = 4096;     // number of orders parsed before they are executed
+
+    private final Reader in;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final CharBuffer bufferView = CharBuffer.wrap(buffer);
+    private final StringBuilder line = new StringBuilder();     // line crossing the end of the buffer
+
+    private long ordersRead = 0;
+    private long processed = 0;
+    private long failed = 0;
+
+    /**
+     * Constructs an {@code OrderStream} reading orders from the given reader.
+     *
+     * @param in the source of the orders, one order per line.<br>
+     *           Precondition: in != null.
+     */
+    public OrderStream(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Opens an {@code OrderStream} reading orders from a UTF-8 encoded file.
+     *
+     * @param file the path of the order file.
+     * @return the stream.
+     * @throws IOException if the file can not be opened.
+     */
+    public static OrderStream open(Path file) throws IOException {
+        return new OrderStream(Files.newBufferedReader(file));
+    }
+
+    /**
+     * Reads and processes all orders until the end of the stream.
+     *
+     * @param corp     the corporation processing the orders with its registered factories.<br>
+     *                 Precondition: corp != null.
+     * @param progress called after each batch of orders (e.g. to report {@code getOrdersRead()}), may be
+     *                 {@code null}.
+     * @return the number of orders successfully processed by this call.
+     * @throws IOException if reading fails.
+     */
+    public long process(DinoCorp corp, Consumer<OrderStream> progress) throws IOException {
+        long processedBefore = processed;
+        OrderProgram program = corp.newProgram(BATCH_SIZE);
+        int count;
+        while ((count = in.read(buffer)) >= 0) {
+            int start = 0;
+            for (int i = 0; i < count; i++) {
+                if (buffer[i] != '\n')
+                    continue;
+                if (line.length() > 0) {
+                    line.append(buffer, start, i - start);
+                    append(program, line, 0, line.length());
+                    line.setLength(0);
+                } else {
+                    append(program, bufferView, start, i);
+                }
+                start = i + 1;
+                if (program.size() == BATCH_SIZE)
+                    execute(corp, program, progress);
+            }
+            line.append(buffer, start, count - start);
+        }
+        if (line.length() > 0) {
+            append(program, line, 0, line.length());
+            line.setLength(0);
+        }
+        execute(corp, program, progress);
+        return processed - processedBefore;
+    }
+
+    private void append(OrderProgram program, CharSequence text, int from, int to) {
+        if (to > from && text.charAt(to - 1) == '\r')
+            to--;
+        program.append(text, from, to);
+    }
+
+    private void execute(DinoCorp corp, OrderProgram program, Consumer<OrderStream> progress) {
+        for (int i = 0; i < program.size(); i++) {
+            if (program.opcode(i) == OrderProgram.SKIP)
+                continue;
+            ordersRead++;
+            if (corp.execute(program, i))
+                processed++;
+            else
+                failed++;
+        }
+        program.clear();
+        if (progress != null)
+            progress.accept(this);
+    }
+
+    /**
+     * Returns the number of (non-empty) orders read so far.
+     *
+     * @return the number of orders.
+     */
+    public long getOrdersRead() {
+        return ordersRead;
+    }
+
+    /**
+     * Returns the number of orders successfully processed so far (factories activated or dinosaurs created).
+     *
+     * @return the number of processed orders.
+     */
+    public long getProcessedCount() {
+        return processed;
+    }
+
+    /**
+     * Returns the number of orders that failed so far (invalid format, unknown factory, no active factory or
+     * creation failed).
+     *
+     * @return the number of failed orders.
+     */
+    public long getFailedCount() {
+        return failed;
+    }
+
+    /**
+     * Closes the underlying reader.
+     *
+     * @throws IOException if closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,272 @@
+package AB4;
+
+import AB4.Interfaces.AbstractTreeNode;
+import AB4.Interfaces.BinaryTreeNode;
+import AB4.Interfaces.Dinosaur;
+
+/**
+ * Represents a non-empty node of an immutable (persistent), self-balancing (AVL) binary tree structure.
+ *
+ * <p>Nodes are never changed after construction. {@code store} and {@code remove} return the root of a new version of
+ * the tree, which consists of copies of the O(log n) nodes on the path from the root to the changed node and shares
+ * all other subtrees with the old version; the old version remains unchanged. So a reference to a root is a
+ * point-in-time snapshot of the tree, taken in O(1) time, and any number of threads may read a version while new
+ * versions are created. Keys, ordering and balancing are the same as for {@code AVLTreeNode}.</p>
+ * <p>A persistent tree is started from {@code PersistentTreeNode.EMPTY}, which also denotes missing child nodes.
+ * Removing the last dinosaur returns {@code PersistentTreeNode.EMPTY} again. The dinosaurs are shared between all
+ * versions, so feeding a dinosaur directly would change its mood in every version; {@code DinoCorp.feed()} stores fed
+ * copies instead, which keeps older versions unchanged.</p>
+ */
+public final class PersistentTreeNode implements BinaryTreeNode {
+
+    /**
+     * The empty persistent tree. Storing a dinosaur into it creates the root node of a new persistent tree.
+     */
+    public static final EmptyTreeNode EMPTY = new EmptyTreeNode() {
+        @Override
+        public AbstractTreeNode store(Dinosaur animal) {
+            return animal != null ? new PersistentTreeNode(animal, this, this) : this;
+        }
+
+        @Override
+        public AbstractTreeNode remove(int dna) {
+            return this;
+        }
+    };
+
+    private final AbstractTreeNode left;
+    private final AbstractTreeNode right;
+    private final Dinosaur animal;
+    private final int dna;
+    private final int height;       // number of nodes on the longest path down to a leaf, 1 for a leaf
+
+    private PersistentTreeNode(Dinosaur animal, AbstractTreeNode left, AbstractTreeNode right) {
+        this.dna = animal.getDNA();
+        this.animal = animal;
+        this.left = left;
+        this.right = right;
+        this.height = Math.max(height(left), height(right)) + 1;
+    }
+
+    /**
+     * Returns a persistent tree holding the dinosaurs of the given tree.
+     *
+     * <p>A persistent tree is returned itself (O(1) time). Any other tree is flattened and a balanced persistent tree
+     * is built from the sorted dinosaurs in O(n) time. The views of a {@code PopulationStore} are replaced by
+     * independent dinosaur objects, so the copy does not change when the store changes.</p>
+     *
+     * @param tree the root of the tree.<br>
+     *             Precondition: tree != null.
+     * @return the root of a persistent tree with the same dinosaurs, or {@code PersistentTreeNode.EMPTY}.
+     */
+    public static AbstractTreeNode copyOf(AbstractTreeNode tree) {
+        if (tree instanceof PersistentTreeNode || tree == EMPTY)
+            return tree;
+        Dinosaur[] sorted = tree instanceof PopulationStore ? ((PopulationStore) tree).toDinosaurs()
+                : TreeTraversal.flatten(tree);
+        return build(sorted, 0, sorted.length);
+    }
+
+    private static AbstractTreeNode build(Dinosaur[] sorted, int from, int to) {
+        if (from >= to)
+            return EMPTY;
+        int middle = (from + to) >>> 1;
+        return new PersistentTreeNode(sorted[middle], build(sorted, from, middle), build(sorted, middle + 1, to));
+    }
+
+    /**
+     * Returns a new version of the tree with the given dinosaur stored, replacing a dinosaur with the same DNA.
+     *
+     * @param animal the Dinosaur object to be stored in the tree.
+     * @return the root node of the new version of the tree; this tree is unchanged.
+     */
+    @Override
+    public AbstractTreeNode store(Dinosaur animal) {
+        if (animal == null)
+            return this;
+        return insert(this, animal);
+    }
+
+    private static PersistentTreeNode insert(AbstractTreeNode tree, Dinosaur animal) {
+        if (!(tree instanceof PersistentTreeNode))
+            return new PersistentTreeNode(animal, EMPTY, EMPTY);
+
+        PersistentTreeNode node = (PersistentTreeNode) tree;
+        if (animal.getDNA() == node.dna)
+            return animal == node.animal ? node : new PersistentTreeNode(animal, node.left, node.right);
+        if (animal.getDNA() < node.dna)
+            return balance(node.animal, insert(node.left, animal), node.right);
+        return balance(node.animal, node.left, insert(node.right, animal));
+    }
+
+    /**
+     * Returns a new version of the tree without the dinosaur identified by the given DNA.
+     *
+     * <p>A node with two children is replaced by a copy of its in-order successor (the node with the smallest key of
+     * its right subtree), which is removed from the right subtree instead.</p>
+     *
+     * @param dna the unique integer encoded DNA of the dinosaur to be removed.
+     * @return the root node of the new version of the tree (this node if there is no such dinosaur), or
+     * {@code PersistentTreeNode.EMPTY} if the new version is empty; this tree is unchanged.
+     */
+    @Override
+    public AbstractTreeNode remove(int dna) {
+        return delete(this, dna);
+    }
+
+    private static AbstractTreeNode delete(AbstractTreeNode tree, int dna) {
+        if (!(tree instanceof PersistentTreeNode))
+            return tree;
+
+        PersistentTreeNode node = (PersistentTreeNode) tree;
+        if (dna < node.dna) {
+            AbstractTreeNode left = delete(node.left, dna);
+            return left == node.left ? node : balance(node.animal, left, node.right);
+        }
+        if (dna > node.dna) {
+            AbstractTreeNode right = delete(node.right, dna);
+            return right == node.right ? node : balance(node.animal, node.left, right);
+        }
+        if (!(node.left instanceof PersistentTreeNode))
+            return node.right;
+        if (!(node.right instanceof PersistentTreeNode))
+            return node.left;
+
+        PersistentTreeNode successor = (PersistentTreeNode) node.right;
+        while (successor.left instanceof PersistentTreeNode)
+            successor = (PersistentTreeNode) successor.left;
+        return balance(successor.animal, node.left, delete(node.right, successor.dna));
+    }
+
+    /**
+     * Finds and returns a Dinosaur object in the tree based on its unique DNA identifier.
+     *
+     * @param dna the unique DNA, encoded as an {@code int}, of the dinosaur to be found.
+     * @return the Dinosaur object with the specified DNA, or {@code null} if no such dinosaur is found in the tree.
+     */
+    @Override
+    public Dinosaur find(int dna) {
+        AbstractTreeNode current = this;
+        while (current instanceof PersistentTreeNode) {
+            PersistentTreeNode node = (PersistentTreeNode) current;
+            if (dna == node.dna)
+                return node.animal;
+            current = dna < node.dna ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Finds a dinosaur within the tree by its name.
+     *
+     * @param name the name of the dinosaur to locate
+     * @return the dinosaur object with the specified name, or {@code null} if no such dinosaur is found
+     */
+    @Override
+    public Dinosaur findByName(String name) {
+        if (name.equals(animal.getName()))
+            return animal;
+
+        Dinosaur result = left.findByName(name);
+        return result != null ? result : right.findByName(name);
+    }
+
+    /**
+     * Flattens the tree into an array of Dinosaur objects using an in-order traversal (see {@code TreeTraversal}).
+     *
+     * @return an array of {@code Dinosaur} objects representing all dinosaurs in the tree,
+     * sorted by their DNA in ascending order.
+     */
+    @Override
+    public Dinosaur[] flatten() {
+        return TreeTraversal.flatten(this);
+    }
+
+    // BALANCING
+
+    private static int height(AbstractTreeNode tree) {
+        return tree instanceof PersistentTreeNode ? ((PersistentTreeNode) tree).height : 0;
+    }
+
+    /**
+     * Creates a node from a dinosaur and two balanced subtrees whose heights differ by at most two, rotating if
+     * required.
+     *
+     * @return the root of the new, balanced subtree.
+     */
+    private static PersistentTreeNode balance(Dinosaur animal, AbstractTreeNode left, AbstractTreeNode right) {
+        int difference = height(left) - height(right);
+        if (difference > 1) {
+            PersistentTreeNode child = (PersistentTreeNode) left;
+            if (height(child.left) < height(child.right)) {     // left-right case
+                PersistentTreeNode grandchild = (PersistentTreeNode) child.right;
+                return new PersistentTreeNode(grandchild.animal,
+                        new PersistentTreeNode(child.animal, child.left, grandchild.left),
+                        new PersistentTreeNode(animal, grandchild.right, right));
+            }
+            return new PersistentTreeNode(child.animal, child.left, new PersistentTreeNode(animal, child.right, right));
+        }
+        if (difference < -1) {
+            PersistentTreeNode child = (PersistentTreeNode) right;
+            if (height(child.right) < height(child.left)) {     // right-left case
+                PersistentTreeNode grandchild = (PersistentTreeNode) child.left;
+                return new PersistentTreeNode(grandchild.animal,
+                        new PersistentTreeNode(animal, left, grandchild.left),
+                        new PersistentTreeNode(child.animal, grandchild.right, child.right));
+            }
+            return new PersistentTreeNode(child.animal, new PersistentTreeNode(animal, left, child.left), child.right);
+        }
+        return new PersistentTreeNode(animal, left, right);
+    }
+
+    // GETTERS
+
+    /**
+     * Retrieves the key of the current tree node.
+     *
+     * @return the key of the current tree node, represented as an {@code int}.
+     */
+    @Override
+    public int getKey() {
+        return dna;
+    }
+
+    /**
+     * Retrieves the dinosaur stored in the current tree node.
+     *
+     * @return the dinosaur (value) of the current tree node.
+     */
+    @Override
+    public Dinosaur getAnimal() {
+        return animal;
+    }
+
+    /**
+     * Retrieves the height of the subtree rooted at the current tree node.
+     *
+     * @return the number of nodes on the longest path from this node down to a leaf (1 for a leaf).
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Retrieves the left child node of the current tree node.
+     *
+     * @return the left child node represented as an {@code AbstractTreeNode}.
+     */
+    @Override
+    public AbstractTreeNode getLeft() {
+        return left;
+    }
+
+    /**
+     * Retrieves the right child node of the current tree node.
+     *
+     * @return the right child node represented as an {@code AbstractTreeNode}.
+     */
+    @Override
+    public AbstractTreeNode getRight() {
+        return right;
+    }
+}
@@ -0,0 +1,57 @@
+package AB4;
+
+import AB4.Interfaces.AbstractDinosaurFactory;
+import AB4.Interfaces.AbstractTreeNode;
+
+/**
+ * Compares the heap memory used by a population of {@code NonEmptyTreeNode}s (one object per dinosaur and name) with
+ * a {@code PopulationStore} (structure of arrays with a name pool), whose dinosaurs are created by the store's
+ * factories.
+ *
+ * <p>Both populations are filled with the same dinosaurs, whose names are created per dinosaur (as when orders are
+ * read from a file), once from a set of 1000 distinct names and once with a distinct name per dinosaur. Argument
+ * (optional): number of dinosaurs.</p>
+ */
+public class PopulationMemoryBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        run(n, 1000);
+        run(n, n);
+    }
+
+    private static void run(int n, int distinctNames) {
+        System.out.printf("%d distinct names%n", distinctNames);
+        long before = usedMemory();
+        AbstractTreeNode tree = EmptyTreeNode.NIL;
+        AbstractDinosaurFactory trex = new TRexFactory();
+        AbstractDinosaurFactory edmontosaurus = new EdSFactory();
+        for (int i = 0; i < n; i++)
+            tree = tree.store((i % 2 == 0 ? trex : edmontosaurus).create(scramble(i), "Dino" + (i % distinctNames)));
+        long treeBytes = usedMemory() - before;
+        System.out.printf("tree:  %d dinosaurs, %6.1f MB, %5.1f bytes per dinosaur%n",
+                TreeTraversal.count(tree), treeBytes / 1e6, (double) treeBytes / n);
+        tree = null;
+
+        before = usedMemory();
+        PopulationStore store = new PopulationStore();
+        trex = store.factory(PopulationStore.TREX);
+        edmontosaurus = store.factory(PopulationStore.EDMONTOSAURUS);
+        for (int i = 0; i < n; i++)
+            store.store((i % 2 == 0 ? trex : edmontosaurus).create(scramble(i), "Dino" + (i % distinctNames)));
+        long storeBytes = usedMemory() - before;
+        System.out.printf("store: %d dinosaurs, %6.1f MB, %5.1f bytes per dinosaur%n",
+                store.size(), storeBytes / 1e6, (double) storeBytes / n);
+    }
+
+    private static int scramble(int i) {
+        return i * 0x9E3779B9;      // distinct DNAs in random order, so the tree stays shallow
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++)
+            System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,230 @@
+package AB4;
+
+import AB4.Interfaces.AbstractTreeNode;
+import AB4.Interfaces.Dinosaur;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * The {@code PopulationSnapshot} class saves populations to binary files and loads them again.
+ *
+ * <p>A file starts with a header (magic number, format version, number of dinosaurs), followed by blocks of up to
+ * 1 MiB. Each block consists of the number of records, the length of the records in bytes, the records and the CRC-32
+ * checksum of the records. A record holds the DNA ({@code int}), the species ({@code PopulationStore.TREX} or
+ * {@code PopulationStore.EDMONTOSAURUS}), the ordinal of the mood, the length of the name in bytes ({@code int}, -1 for
+ * no name) and the UTF-8 encoded name. All numbers are big-endian.</p>
+ * <p>The records are written in ascending DNA order while the tree is traversed (see {@code TreeTraversal.forEach}),
+ * sequentially through a {@code FileChannel}; the number of dinosaurs is written into the header afterwards. So the
+ * saver needs no array of all dinosaurs, and the loader can read whole blocks, check them and build a balanced
+ * {@code AVLTreeNode} tree directly from the decoded dinosaurs in O(n) time, without sorting and without storing the
+ * dinosaurs one by one.</p>
+ */
+public final class PopulationSnapshot {
+    private static final int MAGIC = 0x44494E4F;        // "DINO"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 12;
+    private static final int BLOCK_HEADER_SIZE = 8;
+    private static final int BLOCK_SIZE = 1 << 20;
+    private static final int RECORD_HEADER_SIZE = 10;   // DNA, species, mood, name length
+    private static final Dinosaur.Happiness[] MOODS = Dinosaur.Happiness.values();
+
+    private PopulationSnapshot() {
+    }
+
+    /**
+     * Saves the dinosaurs of a population to a file, replacing an existing file.
+     *
+     * <p>Only Tyrannosaurus rex and Edmontosaurus (or views of a {@code PopulationStore}) are saved; dinosaurs of
+     * other species are skipped.</p>
+     *
+     * @param tree the root of the population tree.<br>
+     *             Precondition: tree != null.
+     * @param file the path of the file.
+     * @return the number of saved dinosaurs.
+     * @throws IOException if writing fails.
+     */
+    public static int save(AbstractTreeNode tree, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).putInt(0);
+            writeFully(channel, header.flip());
+
+            BlockWriter writer = new BlockWriter(channel);
+            try {
+                TreeTraversal.forEach(tree, writer);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+
+            header.clear().putInt(writer.count).flip();
+            while (header.hasRemaining())
+                channel.write(header, HEADER_SIZE - Integer.BYTES + header.position());
+            return writer.count;
+        }
+    }
+
+    /**
+     * Collects the records of the dinosaurs passed by the traversal into blocks and writes every full block.
+     */
+    private static final class BlockWriter implements Consumer<Dinosaur> {
+        private final FileChannel channel;
+        private final ByteBuffer blockHeader = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+        private final ByteBuffer checksum = ByteBuffer.allocate(Integer.BYTES);
+        private final CRC32 crc = new CRC32();
+        private ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+        private int records = 0;        // records within the current block
+        private int count = 0;          // records saved so far
+
+        BlockWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void accept(Dinosaur animal) {
+            byte species = PopulationStore.speciesOf(animal);
+            if (species < 0)
+                return;
+            byte[] name = animal.getName() != null ? animal.getName().getBytes(StandardCharsets.UTF_8) : null;
+            int size = RECORD_HEADER_SIZE + (name != null ? name.length : 0);
+            if (block.remaining() < size) {
+                try {
+                    flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (block.capacity() < size)
+                    block = ByteBuffer.allocate(size);      // a single record larger than a block
+            }
+            block.putInt(animal.getDNA()).put(species).put((byte) animal.getHappiness().ordinal());
+            if (name != null)
+                block.putInt(name.length).put(name);
+            else
+                block.putInt(-1);
+            records++;
+            count++;
+        }
+
+        /**
+         * Writes the current block, if it holds any records.
+         *
+         * @throws IOException if writing fails.
+         */
+        void flush() throws IOException {
+            if (records == 0)
+                return;
+            block.flip();
+            crc.reset();
+            crc.update(block.array(), 0, block.limit());
+            blockHeader.clear().putInt(records).putInt(block.limit()).flip();
+            checksum.clear().putInt((int) crc.getValue()).flip();
+            ByteBuffer[] buffers = {blockHeader, block, checksum};
+            while (checksum.hasRemaining())
+                channel.write(buffers);
+            block.clear();
+            records = 0;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+
+    /**
+     * Loads a population from a file written by {@code save()}.
+     *
+     * @param file the path of the file.
+     * @return the root of a balanced {@code AVLTreeNode} tree of the loaded dinosaurs, or {@code AVLTreeNode.EMPTY}
+     * if there are none.
+     * @throws IOException if reading fails or the file is not a valid population file (wrong header, checksum
+     *                     mismatch, invalid records, records not in strictly ascending DNA order or bytes after the
+     *                     last block).
+     */
+    public static AbstractTreeNode load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = readFully(channel, ByteBuffer.allocate(HEADER_SIZE));
+            if (header.getInt() != MAGIC || header.getInt() != VERSION)
+                throw new IOException(file + " is not a population file");
+            int count = header.getInt();
+            if (count < 0 || count > (channel.size() - HEADER_SIZE) / RECORD_HEADER_SIZE)
+                throw new IOException("invalid number of dinosaurs: " + count);
+
+            Dinosaur[] animals = new Dinosaur[count];
+            ByteBuffer blockHeader = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+            ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+            ByteBuffer checksum = ByteBuffer.allocate(Integer.BYTES);
+            CRC32 crc = new CRC32();
+            int loaded = 0;
+            for (int blockNumber = 0; loaded < count; blockNumber++) {
+                readFully(channel, blockHeader.clear());
+                int records = blockHeader.getInt();
+                int length = blockHeader.getInt();
+                if (records <= 0 || records > count - loaded || length < (long) records * RECORD_HEADER_SIZE)
+                    throw new IOException("invalid header of block " + blockNumber);
+                if (block.capacity() < length)
+                    block = ByteBuffer.allocate(length);
+                readFully(channel, block.clear().limit(length));
+                readFully(channel, checksum.clear());
+                crc.reset();
+                crc.update(block.array(), 0, length);
+                if (checksum.getInt() != (int) crc.getValue())
+                    throw new IOException("checksum mismatch in block " + blockNumber);
+
+                for (int i = 0; i < records; i++)
+                    animals[loaded++] = readRecord(block, blockNumber);
+                if (block.hasRemaining())
+                    throw new IOException("invalid length of block " + blockNumber);
+            }
+
+            if (channel.position() != channel.size())
+                throw new IOException("unexpected data after the last block");
+
+            for (int i = 1; i < count; i++)
+                if (animals[i].getDNA() <= animals[i - 1].getDNA())
+                    throw new IOException("dinosaurs not in ascending DNA order at DNA " + animals[i].getDNA());
+            return AVLTreeNode.buildSorted(animals, 0, count);
+        }
+    }
+
+    private static Dinosaur readRecord(ByteBuffer block, int blockNumber) throws IOException {
+        if (block.remaining() < RECORD_HEADER_SIZE)
+            throw new IOException("truncated record in block " + blockNumber);
+        int dna = block.getInt();
+        byte species = block.get();
+        byte mood = block.get();
+        int length = block.getInt();
+        if (mood < 0 || mood >= MOODS.length || length < -1 || length > block.remaining())
+            throw new IOException("invalid record in block " + blockNumber);
+
+        String name = null;
+        if (length >= 0) {
+            name = new String(block.array(), block.position(), length, StandardCharsets.UTF_8);
+            block.position(block.position() + length);
+        }
+        switch (species) {
+            case PopulationStore.TREX:
+                return new TyrannosaurusRex(dna, name, MOODS[mood]);
+            case PopulationStore.EDMONTOSAURUS:
+                return new Edmontosaurus(dna, name, MOODS[mood]);
+            default:
+                throw new IOException("unknown species " + species + " in block " + blockNumber);
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            if (channel.read(buffer) < 0)
+                throw new EOFException("unexpected end of population file");
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,503 @@
+package AB4;
+
+import AB4.Interfaces.AbstractDinosaurFactory;
+import AB4.Interfaces.AbstractTreeNode;
+import AB4.Interfaces.Dinosaur;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Represents a population of dinosaurs stored as a structure of arrays instead of one object per dinosaur.
+ *
+ * <p>Each dinosaur occupies one row of four parallel arrays: DNA ({@code int}), species and mood ({@code byte}) and
+ * the id of its name ({@code int}) within a pool that holds every distinct name once. Hash tables (open addressing,
+ * linear probing, {@code int} entries) map DNAs to rows and names to ids, so {@code store}, {@code remove} and
+ * {@code find} take O(1) time on average. A dinosaur needs about 20 bytes plus its name String if the name is not
+ * shared, instead of more than 100 bytes for a {@code NonEmptyTreeNode}, the dinosaur object and its name String.</p>
+ * <p>Dinosaurs stored into the population are copied into the arrays; the objects are not kept. {@code find},
+ * {@code findByName} and {@code flatten} return lightweight views ({@code Dinosaur} objects reading and feeding the
+ * rows), which remain valid until the dinosaur is removed. Views of the same dinosaur are equal. Only the species
+ * Tyrannosaurus rex and Edmontosaurus are supported. The factories returned by {@code factory()} write the created
+ * dinosaurs into rows directly and return views, so no dinosaur object is allocated at all. Each name of the pool
+ * has a reference count; the id of a name no longer used by any row is released and reused for the next new
+ * name.</p>
+ */
+public class PopulationStore implements AbstractTreeNode {
+    public static final byte TREX = 0;
+    public static final byte EDMONTOSAURUS = 1;
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final Dinosaur.Happiness[] MOODS = Dinosaur.Happiness.values();
+
+    private int[] dnas = new int[INITIAL_CAPACITY];
+    private byte[] species = new byte[INITIAL_CAPACITY];
+    private byte[] moods = new byte[INITIAL_CAPACITY];        // ordinal of the dinosaur's Happiness
+    private int[] nameIds = new int[INITIAL_CAPACITY];
+    private int size = 0;
+
+    private int[] table = new int[INITIAL_CAPACITY * 2];      // row + 1 of the DNA hashed to the slot, 0 if empty
+
+    private String[] names = new String[INITIAL_CAPACITY];    // name pool
+    private int[] nameReferences = new int[INITIAL_CAPACITY]; // number of rows using a name
+    private int[] nameTable = new int[INITIAL_CAPACITY * 2];  // id + 1 of the name hashed to the slot, 0 if empty
+    private int nameCount = 0;                                // ids assigned so far, including released ids
+    private int[] freeNameIds = new int[INITIAL_CAPACITY];    // released ids, reused first
+    private int freeNameCount = 0;
+
+    /**
+     * Returns a factory creating dinosaurs of the given species in this store.
+     *
+     * <p>The factory writes a new dinosaur (with the initial mood of its species) into a row of this store and returns
+     * a view of the row, so the dinosaur is stored as soon as it is created; storing the view into this store again
+     * does not change the store. If a dinosaur with the same DNA is already stored, it is not overwritten: the factory
+     * returns a new {@code TyrannosaurusRex} or {@code Edmontosaurus} instead, which replaces the stored dinosaur when
+     * it is stored.</p>
+     *
+     * @param speciesCode {@code TREX} or {@code EDMONTOSAURUS}.
+     * @return the factory, or {@code null} if the species is not supported.
+     */
+    public AbstractDinosaurFactory factory(byte speciesCode) {
+        switch (speciesCode) {
+            case TREX:
+                return (dna, name) -> create(dna, name, TREX);
+            case EDMONTOSAURUS:
+                return (dna, name) -> create(dna, name, EDMONTOSAURUS);
+            default:
+                return null;
+        }
+    }
+
+    private Dinosaur create(int dna, String name, byte speciesCode) {
+        if (table[slot(dna)] != 0)
+            return speciesCode == TREX ? new TyrannosaurusRex(dna, name) : new Edmontosaurus(dna, name);
+        // initial moods of the species, see the constructors of TyrannosaurusRex and Edmontosaurus
+        addRow(dna, speciesCode, speciesCode == TREX ? Dinosaur.Happiness.ANGRY : Dinosaur.Happiness.HAPPY, name);
+        return new View(dna);
+    }
+
+    /**
+     * Writes a dinosaur into a new row.
+     *
+     * @param dna the DNA of the dinosaur, which must not be stored yet.
+     */
+    private void addRow(int dna, byte speciesCode, Dinosaur.Happiness mood, String name) {
+        if (size == dnas.length)
+            grow();
+        int row = size++;
+        dnas[row] = dna;
+        table[insertSlot(dna)] = row + 1;
+        species[row] = speciesCode;
+        moods[row] = (byte) mood.ordinal();
+        nameIds[row] = acquireName(name);
+    }
+
+    /**
+     * Retrieves the id of a name within the name pool and counts a reference to it. A new name is added to the pool.
+     *
+     * @param name the name, may be {@code null}.
+     * @return the id of the name, or -1 for {@code null}.
+     */
+    private int acquireName(String name) {
+        if (name == null)
+            return -1;
+        int slot = nameSlot(name);
+        int id;
+        if (nameTable[slot] != 0) {
+            id = nameTable[slot] - 1;
+        } else {
+            if (freeNameCount > 0) {
+                id = freeNameIds[--freeNameCount];
+            } else {
+                if (nameCount == names.length) {
+                    growNames();
+                    slot = nameSlot(name);
+                }
+                id = nameCount++;
+            }
+            names[id] = name;
+            nameTable[slot] = id + 1;
+        }
+        nameReferences[id]++;
+        return id;
+    }
+
+    /**
+     * Removes a reference to a name. A name without references is removed from the pool and its id is released.
+     *
+     * @param id the id of the name, or -1.
+     */
+    private void releaseName(int id) {
+        if (id < 0 || --nameReferences[id] > 0)
+            return;
+        deleteSlot(nameTable, nameSlot(names[id]), entry -> nameHash(names[entry - 1]));
+        names[id] = null;
+        if (freeNameCount == freeNameIds.length)
+            freeNameIds = Arrays.copyOf(freeNameIds, freeNameCount * 2);
+        freeNameIds[freeNameCount++] = id;
+    }
+
+    /**
+     * Returns the number of distinct names within the name pool.
+     *
+     * @return the number of names used by at least one stored dinosaur.
+     */
+    int nameCount() {
+        return nameCount - freeNameCount;
+    }
+
+    /**
+     * Returns the species code of a dinosaur.
+     *
+     * @param animal a dinosaur, may be a view of any store.
+     * @return {@code TREX} or {@code EDMONTOSAURUS}, or -1 if the species is not supported.
+     */
+    static byte speciesOf(Dinosaur animal) {
+        if (animal instanceof TyrannosaurusRex)
+            return TREX;
+        if (animal instanceof Edmontosaurus)
+            return EDMONTOSAURUS;
+        if (animal instanceof View)
+            return ((View) animal).getSpecies();
+        return -1;
+    }
+
+    /**
+     * Stores a dinosaur by copying its DNA, species, mood and name into a row of the store.
+     *
+     * <p>If a dinosaur with the same DNA is already stored, its row is overwritten.</p>
+     *
+     * @param animal the new dinosaur; a {@code TyrannosaurusRex}, an {@code Edmontosaurus} or a view of a store.
+     *               Other dinosaurs are not stored.
+     * @return this population.
+     */
+    @Override
+    public AbstractTreeNode store(Dinosaur animal) {
+        byte speciesCode = speciesOf(animal);
+        if (speciesCode < 0)
+            return this;
+
+        int slot = slot(animal.getDNA());
+        if (table[slot] == 0) {
+            addRow(animal.getDNA(), speciesCode, animal.getHappiness(), animal.getName());
+            return this;
+        }
+        int row = table[slot] - 1;
+        int nameId = acquireName(animal.getName());      // before releasing, the name may be the same
+        releaseName(nameIds[row]);
+        species[row] = speciesCode;
+        moods[row] = (byte) animal.getHappiness().ordinal();
+        nameIds[row] = nameId;
+        return this;
+    }
+
+    /**
+     * Removes a dinosaur. The last row of the store is moved into the row of the removed dinosaur.
+     *
+     * @param dna the individual DNA of the dinosaur to be removed.
+     * @return this population.
+     */
+    @Override
+    public AbstractTreeNode remove(int dna) {
+        int slot = slot(dna);
+        if (table[slot] == 0)
+            return this;
+        int row = table[slot] - 1;
+        deleteSlot(table, slot, entry -> hash(dnas[entry - 1]));
+        releaseName(nameIds[row]);
+
+        int last = --size;
+        if (row != last) {
+            table[slot(dnas[last])] = row + 1;
+            dnas[row] = dnas[last];
+            species[row] = species[last];
+            moods[row] = moods[last];
+            nameIds[row] = nameIds[last];
+        }
+        return this;
+    }
+
+    /**
+     * Finds a dinosaur by its DNA.
+     *
+     * @param dna the unique DNA encoded as {@code int} of the dinosaur to be found.
+     * @return a view of the dinosaur, or {@code null} if no such dinosaur is stored.
+     */
+    @Override
+    public Dinosaur find(int dna) {
+        return table[slot(dna)] != 0 ? new View(dna) : null;
+    }
+
+    /**
+     * Finds a dinosaur by its name, by scanning the name ids of all rows.
+     *
+     * @param name the name of the dinosaur to locate
+     * @return a view of a dinosaur with the specified name, or {@code null} if no such dinosaur is stored.
+     */
+    @Override
+    public Dinosaur findByName(String name) {
+        if (name == null)
+            return null;
+        int id = nameTable[nameSlot(name)] - 1;
+        if (id >= 0)
+            for (int row = 0; row < size; row++)
+                if (nameIds[row] == id)
+                    return new View(dnas[row]);
+        return null;
+    }
+
+    /**
+     * Returns views of all dinosaurs, sorted by their DNA in ascending order.
+     *
+     * @return an array of views of all stored dinosaurs.
+     */
+    @Override
+    public Dinosaur[] flatten() {
+        long[] keys = new long[size];
+        for (int row = 0; row < size; row++)
+            keys[row] = ((long) dnas[row] << 32) | row;
+        Arrays.sort(keys);
+
+        Dinosaur[] result = new Dinosaur[size];
+        for (int i = 0; i < size; i++)
+            result[i] = new View((int) (keys[i] >> 32));
+        return result;
+    }
+
+    /**
+     * Returns copies of all dinosaurs as independent {@code TyrannosaurusRex} and {@code Edmontosaurus} objects, sorted
+     * by their DNA in ascending order. Unlike views, the copies remain valid when the store is changed.
+     *
+     * @return an array of copies of all stored dinosaurs.
+     */
+    public Dinosaur[] toDinosaurs() {
+        Dinosaur[] result = flatten();
+        for (int i = 0; i < result.length; i++)
+            result[i] = ((View) result[i]).copy();
+        return result;
+    }
+
+    /**
+     * Replaces all dinosaurs of the store by the dinosaurs of the given tree (e.g. a snapshot). The store remains in
+     * use, so do the factories returned by {@code factory()}.
+     *
+     * @param tree the root of a tree, may be this store.<br>
+     *             Precondition: tree != null.
+     */
+    public void restore(AbstractTreeNode tree) {
+        Dinosaur[] animals = tree instanceof PopulationStore ? ((PopulationStore) tree).toDinosaurs()
+                : TreeTraversal.flatten(tree);
+        size = 0;
+        Arrays.fill(table, 0);
+        Arrays.fill(names, null);
+        Arrays.fill(nameReferences, 0);
+        Arrays.fill(nameTable, 0);
+        nameCount = 0;
+        freeNameCount = 0;
+        for (Dinosaur animal : animals)
+            store(animal);
+    }
+
+    /**
+     * Returns the class of the species of a dinosaur.
+     *
+     * @param animal a dinosaur, may be a view of any store.
+     * @return {@code TyrannosaurusRex.class} or {@code Edmontosaurus.class} for a view, the class of the dinosaur
+     * otherwise.
+     */
+    static Class<? extends Dinosaur> speciesClass(Dinosaur animal) {
+        if (animal instanceof View)
+            return ((View) animal).getSpecies() == TREX ? TyrannosaurusRex.class : Edmontosaurus.class;
+        return animal.getClass();
+    }
+
+    /**
+     * Returns the number of stored dinosaurs.
+     *
+     * @return the number of dinosaurs.
+     */
+    public int size() {
+        return size;
+    }
+
+    // HASH TABLE
+
+    private int hash(int dna) {
+        return (dna * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(table.length));
+    }
+
+    /**
+     * Searches the slot of a DNA.
+     *
+     * @param dna the DNA.
+     * @return the slot holding the DNA's row, or the empty slot ending the search if the DNA is not stored.
+     */
+    private int slot(int dna) {
+        int mask = table.length - 1;
+        int i = hash(dna);
+        while (table[i] != 0 && dnas[table[i] - 1] != dna)
+            i = (i + 1) & mask;
+        return i;
+    }
+
+    private int insertSlot(int dna) {
+        int mask = table.length - 1;
+        int i = hash(dna);
+        while (table[i] != 0)
+            i = (i + 1) & mask;
+        return i;
+    }
+
+    private int nameHash(String name) {
+        return (name.hashCode() * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(nameTable.length));
+    }
+
+    /**
+     * Searches the slot of a name within the name table.
+     *
+     * @param name the name.<br>
+     *             Precondition: name != null.
+     * @return the slot holding the name's id, or the empty slot ending the search if the name is not in the pool.
+     */
+    private int nameSlot(String name) {
+        int mask = nameTable.length - 1;
+        int i = nameHash(name);
+        while (nameTable[i] != 0 && !names[nameTable[i] - 1].equals(name))
+            i = (i + 1) & mask;
+        return i;
+    }
+
+    /**
+     * Empties a slot of a hash table and moves following entries of the probe sequence back, so no search ends
+     * early.
+     *
+     * @param table the hash table, either the DNA table or the name table.
+     * @param slot  the slot to be emptied.
+     * @param home  computes the slot an entry (row + 1 or id + 1) is hashed to.
+     */
+    private static void deleteSlot(int[] table, int slot, IntUnaryOperator home) {
+        int mask = table.length - 1;
+        int free = slot;
+        int i = slot;
+        table[free] = 0;
+        while (true) {
+            i = (i + 1) & mask;
+            if (table[i] == 0)
+                return;
+            int start = home.applyAsInt(table[i]);
+            boolean reachable = free <= i ? (start > free && start <= i) : (start > free || start <= i);
+            if (!reachable) {
+                table[free] = table[i];
+                table[i] = 0;
+                free = i;
+            }
+        }
+    }
+
+    private void growNames() {
+        int capacity = names.length * 2;
+        names = Arrays.copyOf(names, capacity);
+        nameReferences = Arrays.copyOf(nameReferences, capacity);
+
+        nameTable = new int[capacity * 2];
+        int mask = nameTable.length - 1;
+        for (int id = 0; id < nameCount; id++) {
+            if (names[id] == null)
+                continue;
+            int i = nameHash(names[id]);
+            while (nameTable[i] != 0)
+                i = (i + 1) & mask;
+            nameTable[i] = id + 1;
+        }
+    }
+
+    private void grow() {
+        int capacity = dnas.length * 2;
+        dnas = Arrays.copyOf(dnas, capacity);
+        species = Arrays.copyOf(species, capacity);
+        moods = Arrays.copyOf(moods, capacity);
+        nameIds = Arrays.copyOf(nameIds, capacity);
+
+        table = new int[capacity * 2];
+        for (int row = 0; row < size; row++)
+            table[insertSlot(dnas[row])] = row + 1;
+    }
+
+    /**
+     * A lightweight {@code Dinosaur} reading and feeding the row of a stored dinosaur. The row is looked up by the
+     * DNA again if it has been moved by a removal.
+     */
+    private final class View implements Dinosaur {
+        private final int dna;
+        private int row = -1;
+
+        View(int dna) {
+            this.dna = dna;
+        }
+
+        private int row() {
+            if (row < 0 || row >= size || dnas[row] != dna) {
+                int slot = slot(dna);
+                if (table[slot] == 0)
+                    throw new IllegalStateException("dinosaur " + dna + " has been removed");
+                row = table[slot] - 1;
+            }
+            return row;
+        }
+
+        byte getSpecies() {
+            return species[row()];
+        }
+
+        Dinosaur copy() {
+            int r = row();
+            return species[r] == TREX ? new TyrannosaurusRex(dna, getName(), MOODS[moods[r]])
+                    : new Edmontosaurus(dna, getName(), MOODS[moods[r]]);
+        }
+
+        @Override
+        public int getDNA() {
+            return dna;
+        }
+
+        @Override
+        public String getName() {
+            int id = nameIds[row()];
+            return id >= 0 ? names[id] : null;
+        }
+
+        @Override
+        public Happiness getHappiness() {
+            return MOODS[moods[row()]];
+        }
+
+        @Override
+        public Happiness feed(Food food) {
+            int r = row();
+            Happiness happiness = species[r] == TREX ? TyrannosaurusRex.feed(MOODS[moods[r]], food)
+                    : Edmontosaurus.feed(MOODS[moods[r]], food);
+            moods[r] = (byte) happiness.ordinal();
+            return happiness;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof View && ((View) other).dna == dna && ((View) other).store() == store();
+        }
+
+        @Override
+        public int hashCode() {
+            return dna;
+        }
+
+        private PopulationStore store() {
+            return PopulationStore.this;
+        }
+
+        @Override
+        public String toString() {
+            return getSpecies() == TREX ? TyrannosaurusRex.toString(getName(), getHappiness())
+                    : Edmontosaurus.toString(getName(), getHappiness());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package AB4;
+
+import AB4.Interfaces.AbstractDinosaurFactory;
+import AB4.Interfaces.AbstractTreeNode;
+import AB4.Interfaces.Dinosaur;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks that a {@code DinoCorp} behaves the same with a {@code PopulationStore} population as with a tree of
+ * {@code NonEmptyTreeNode}s.
+ *
+ * <p>Both corporations process the same orders, remove, feed (with one food and per species), snapshot and restore
+ * their populations; the store is checked with the standard factories and with its own factories, which write the
+ * animals into the store directly. After each step the populations (including the animals' moods) and mood counters
+ * of both are compared; every step is printed with OK or MISMATCH. A snapshot must keep the moods at the time it
+ * was taken, and the store's name pool must hold exactly the names in use.</p>
+ */
+public class PopulationStoreCheck {
+
+    public static void main(String[] args) {
+        PopulationStore store = new PopulationStore();
+        PopulationStore pooled = new PopulationStore();
+        boolean ok = run("store", store, createCorp(store, new TRexFactory(), new EdSFactory()));
+        ok &= run("store with its factories", pooled, createCorp(pooled, pooled.factory(PopulationStore.TREX),
+                pooled.factory(PopulationStore.EDMONTOSAURUS)));
+        System.out.println(ok ? "all checks passed" : "CHECKS FAILED");
+    }
+
+    /**
+     * Runs all steps with a tree and a store population and compares them.
+     */
+    private static boolean run(String title, PopulationStore population, DinoCorp store) {
+        System.out.println(title + ":");
+        DinoCorp tree = createCorp(EmptyTreeNode.NIL, new TRexFactory(), new EdSFactory());
+        boolean ok = true;
+
+        ok &= check("orders", state(tree, tree.processAll()), state(store, store.processAll()));
+        ok &= check("removeAnimal(123)", state(tree, tree.removeAnimal(123)), state(store, store.removeAnimal(123)));
+        ok &= check("removeAnimal(5)", state(tree, tree.removeAnimal(5)), state(store, store.removeAnimal(5)));
+        ok &= check("names", names(tree), String.valueOf(population.nameCount()));
+
+        Map<Class<? extends Dinosaur>, Dinosaur.Food> policy = Map.of(TyrannosaurusRex.class, Dinosaur.Food.MEAT);
+        ok &= check("feed(TRex: MEAT)", state(tree, Arrays.toString(tree.feed(policy))),
+                state(store, Arrays.toString(store.feed(policy))));
+
+        AbstractTreeNode treeSnapshot = tree.snapshot();
+        AbstractTreeNode storeSnapshot = store.snapshot();
+        String expected = animals(treeSnapshot);
+        ok &= check("snapshot", state(tree, treeSnapshot.flatten().length),
+                state(store, storeSnapshot.flatten().length));
+
+        tree.feed(Dinosaur.Food.PLANTS);
+        store.feed(Dinosaur.Food.PLANTS);
+        tree.removeAnimal(200);
+        store.removeAnimal(200);
+        ok &= check("feed(PLANTS), removeAnimal(200)", state(tree, 0), state(store, 0));
+        ok &= check("names", names(tree), String.valueOf(population.nameCount()));
+        String snapshotted = animals(treeSnapshot);
+        ok &= check("snapshot after changes", expected, snapshotted);
+        ok &= check("store snapshot after changes", snapshotted, animals(storeSnapshot));
+
+        tree.restore(treeSnapshot);
+        store.restore(storeSnapshot);
+        ok &= check("restore", state(tree, animals(treeSnapshot)), state(store, animals(storeSnapshot)));
+        ok &= check("restored moods", expected, animals(tree.snapshot()));
+
+        tree.setOrders(new String[]{"#EDMONTOSAURUS", "Dolly!300", "Dolly!8"});
+        store.setOrders(new String[]{"#EDMONTOSAURUS", "Dolly!300", "Dolly!8"});
+        ok &= check("orders after restore", state(tree, tree.processAll()), state(store, store.processAll()));
+        ok &= check("store restored in place", String.valueOf(TreeTraversal.count(tree.snapshot())),
+                String.valueOf(population.size()));
+        ok &= check("names", names(tree), String.valueOf(population.nameCount()));
+        return ok;
+    }
+
+    private static DinoCorp createCorp(AbstractTreeNode population, AbstractDinosaurFactory trex,
+                                       AbstractDinosaurFactory edmontosaurus) {
+        DinoCorp corp = new DinoCorp(population);
+        corp.registerFactory(trex, "TREX");
+        corp.registerFactory(edmontosaurus, "EDMONTOSAURUS");
+        corp.setOrders(new String[]{"#TREX", "Mom!200", "Tick!456", "Trick!123", "Track!7", "#EDMONTOSAURUS",
+                "Donald!1", "Daisy!8"});
+        return corp;
+    }
+
+    /**
+     * Counts the distinct names of the animals of a corporation.
+     */
+    private static String names(DinoCorp corp) {
+        Set<String> names = new HashSet<>();
+        TreeTraversal.forEach(corp.snapshot(), dino -> names.add(dino.getName()));
+        return String.valueOf(names.size());
+    }
+
+    /**
+     * Describes the result of a step, the population and the mood counters of a corporation.
+     */
+    private static String state(DinoCorp corp, Object result) {
+        List<String> animals = new ArrayList<>();
+        TreeTraversal.forEach(corp.snapshot(), dino -> animals.add(dino.getDNA() + " " + dino));
+        StringBuilder moods = new StringBuilder();
+        for (Dinosaur.Happiness mood : Dinosaur.Happiness.values())
+            moods.append(' ').append(mood).append('=').append(corp.countAnimalsByMood(mood));
+        return result + " " + animals + moods + " verified=" + corp.verifyMoodCounters();
+    }
+
+    /**
+     * Lists the DNAs and animals (with their moods) of a snapshot.
+     */
+    private static String animals(AbstractTreeNode snapshot) {
+        List<String> animals = new ArrayList<>();
+        TreeTraversal.forEach(snapshot, dino -> animals.add(dino.getDNA() + " " + dino.getHappiness() + " " + dino));
+        return animals.toString();
+    }
+
+    private static boolean check(String step, String expected, String actual) {
+        boolean equal = expected.equals(actual);
+        System.out.println((equal ? "OK       " : "MISMATCH ") + step + ": " + actual);
+        if (!equal)
+            System.out.println("         expected: " + expected);
+        return equal;
+    }
+}
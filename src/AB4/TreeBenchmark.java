@@ -0,0 +1,65 @@
+package AB4;
+
+import AB4.Interfaces.AbstractTreeNode;
+import AB4.Interfaces.Dinosaur;
+
+import java.util.Random;
+
+/**
+ * Compares the unbalanced {@code NonEmptyTreeNode} tree with the balanced {@code AVLTreeNode} tree.
+ *
+ * <p>Both trees are filled with the same dinosaurs, once in ascending DNA order (the common order of production
+ * orders) and once in random order. For each run, the time to store all dinosaurs, to find each of them and to
+ * remove all of them is printed. Argument (optional): number of dinosaurs.</p>
+ */
+public class TreeBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        Dinosaur[] sorted = new Dinosaur[n];
+        for (int i = 0; i < n; i++)
+            sorted[i] = new TyrannosaurusRex(i, "Rex" + i);
+        Dinosaur[] shuffled = sorted.clone();
+        Random random = new Random(42);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Dinosaur swap = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = swap;
+        }
+
+        for (int round = 0; round < 2; round++) {   // first round warms up the JIT compiler
+            System.out.println(round == 0 ? "warm-up" : "measurement");
+            run("unbalanced, sorted", EmptyTreeNode.NIL, sorted);
+            run("unbalanced, random", EmptyTreeNode.NIL, shuffled);
+            run("AVL,        sorted", AVLTreeNode.EMPTY, sorted);
+            run("AVL,        random", AVLTreeNode.EMPTY, shuffled);
+        }
+    }
+
+    private static void run(String label, AbstractTreeNode empty, Dinosaur[] animals) {
+        try {
+            long start = System.nanoTime();
+            AbstractTreeNode root = empty;
+            for (Dinosaur animal : animals)
+                root = root.store(animal);
+            long stored = System.nanoTime();
+
+            int found = 0;
+            for (Dinosaur animal : animals)
+                if (root.find(animal.getDNA()) == animal)
+                    found++;
+            long searched = System.nanoTime();
+
+            for (Dinosaur animal : animals)
+                root = root.remove(animal.getDNA());
+            long removed = System.nanoTime();
+
+            System.out.printf("%s: store %8.1f ms, find %8.1f ms (%d found), remove %8.1f ms%n", label,
+                    (stored - start) / 1e6, (searched - stored) / 1e6, found, (removed - searched) / 1e6);
+        } catch (StackOverflowError e) {
+            System.out.printf("%s: stack overflow (tree too deep)%n", label);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package AB4;
+
+import AB4.Interfaces.AbstractTreeNode;
+import AB4.Interfaces.Dinosaur;
+
+import java.util.Arrays;
+
+/**
+ * The {@code TreeBuilder} class builds balanced trees of {@code NonEmptyTreeNode}s from batches of dinosaurs.
+ *
+ * <p>Storing n dinosaurs one by one takes O(n log n) time for random and O(n^2) time for sorted DNAs. The builder
+ * instead sorts the batch by DNA (unless it is sorted already) and creates the tree in linear time: the
+ * middle dinosaur of a range becomes the root, the two halves become its subtrees. The height of the resulting tree
+ * is the minimum possible height, ceil(log2(n + 1)). If a DNA occurs more than once, the dinosaur occurring last in
+ * the batch is stored (like storing the batch one by one would do).</p>
+ */
+public final class TreeBuilder {
+
+    private TreeBuilder() {
+    }
+
+    /**
+     * Builds a balanced tree of the given dinosaurs.
+     *
+     * @param animals the dinosaurs in any order; {@code null} elements are ignored.<br>
+     *                Precondition: animals != null.
+     * @return the root of the new tree, or {@code EmptyTreeNode.NIL} if there are no dinosaurs.
+     */
+    public static AbstractTreeNode build(Dinosaur[] animals) {
+        Dinosaur[] sorted = sortUnique(animals);
+        return buildSorted(sorted, 0, sorted.length);
+    }
+
+    /**
+     * Builds a balanced tree of dinosaurs which are sorted by their DNA in strictly ascending order.
+     *
+     * @param sorted the sorted dinosaurs.<br>
+     *               Precondition: sorted != null, no {@code null} elements, no duplicate DNA.
+     * @param from   the index of the first dinosaur.
+     * @param to     the index after the last dinosaur.
+     * @return the root of the new tree, or {@code EmptyTreeNode.NIL} if the range is empty.
+     */
+    static AbstractTreeNode buildSorted(Dinosaur[] sorted, int from, int to) {
+        if (from >= to)
+            return EmptyTreeNode.NIL;
+        int middle = (from + to) >>> 1;
+        NonEmptyTreeNode node = new NonEmptyTreeNode(sorted[middle]);
+        node.setLeft(buildSorted(sorted, from, middle));
+        node.setRight(buildSorted(sorted, middle + 1, to));
+        return node;
+    }
+
+    /**
+     * Sorts dinosaurs by their DNA and removes duplicates, keeping the dinosaur occurring last for each DNA.
+     *
+     * <p>If the dinosaurs are sorted in strictly ascending order already, they are only copied. Otherwise the DNAs
+     * are sorted together with the dinosaurs' positions as primitive keys, so the sort needs no comparator and keeps
+     * the order of dinosaurs with equal DNA.</p>
+     *
+     * @param animals the dinosaurs in any order; {@code null} elements are ignored.<br>
+     *                Precondition: animals != null.
+     * @return a new array of the dinosaurs in strictly ascending DNA order.
+     */
+    static Dinosaur[] sortUnique(Dinosaur[] animals) {
+        int count = 0;
+        boolean sorted = true;
+        int previous = 0;
+        for (Dinosaur animal : animals) {
+            if (animal == null)
+                continue;
+            if (count > 0 && animal.getDNA() <= previous)
+                sorted = false;
+            previous = animal.getDNA();
+            count++;
+        }
+
+        Dinosaur[] result = new Dinosaur[count];
+        if (sorted) {
+            int i = 0;
+            for (Dinosaur animal : animals)
+                if (animal != null)
+                    result[i++] = animal;
+            return result;
+        }
+
+        long[] keys = new long[count];     // DNA in the upper, position in the lower 32 bits
+        int k = 0;
+        for (int i = 0; i < animals.length; i++)
+            if (animals[i] != null)
+                keys[k++] = ((long) animals[i].getDNA() << 32) | i;
+        Arrays.sort(keys);
+
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            if (i + 1 < count && (int) (keys[i + 1] >> 32) == (int) (keys[i] >> 32))
+                continue;       // a later dinosaur with the same DNA wins
+            result[size++] = animals[(int) keys[i]];
+        }
+        return size == count ? result : Arrays.copyOf(result, size);
+    }
+}
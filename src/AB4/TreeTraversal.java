@@ -0,0 +1,92 @@
+package AB4;
+
+import AB4.Interfaces.AbstractTreeNode;
+import AB4.Interfaces.BinaryTreeNode;
+import AB4.Interfaces.Dinosaur;
+
+import java.util.function.Consumer;
+
+/**
+ * The {@code TreeTraversal} class provides in-order traversals of population trees.
+ *
+ * <p>The traversals are iterative (using an explicit stack), so they also work on degenerated trees of any depth, and
+ * visit every node once. An {@code IndexedPopulation} is traversed via its wrapped tree and a
+ * {@code ConcurrentPopulation} via a snapshot; other trees whose nodes do not implement {@code BinaryTreeNode} are
+ * traversed via their {@code flatten()} method.</p>
+ */
+public final class TreeTraversal {
+    private static final int INITIAL_STACK_SIZE = 64;
+
+    private TreeTraversal() {
+    }
+
+    /**
+     * Calls the given action for every dinosaur of the tree in ascending DNA order, without creating an array.
+     *
+     * @param tree   the root of the tree.
+     *               <p>Precondition: ( tree != null )</p>
+     * @param action the action to be performed for each dinosaur.
+     *               <p>Precondition: ( action != null )</p>
+     */
+    public static void forEach(AbstractTreeNode tree, Consumer<? super Dinosaur> action) {
+        if (tree instanceof IndexedPopulation)
+            tree = ((IndexedPopulation) tree).getTree();
+        else if (tree instanceof ConcurrentPopulation)
+            tree = ((ConcurrentPopulation) tree).snapshot();
+        if (!(tree instanceof BinaryTreeNode)) {
+            for (Dinosaur animal : tree.flatten())
+                action.accept(animal);
+            return;
+        }
+
+        BinaryTreeNode[] stack = new BinaryTreeNode[INITIAL_STACK_SIZE];
+        int size = 0;
+        AbstractTreeNode current = tree;
+        while (current instanceof BinaryTreeNode || size > 0) {
+            while (current instanceof BinaryTreeNode) {
+                if (size == stack.length) {
+                    BinaryTreeNode[] larger = new BinaryTreeNode[size * 2];
+                    System.arraycopy(stack, 0, larger, 0, size);
+                    stack = larger;
+                }
+                stack[size++] = (BinaryTreeNode) current;
+                current = ((BinaryTreeNode) current).getLeft();
+            }
+            BinaryTreeNode node = stack[--size];
+            stack[size] = null;
+            if (node.getAnimal() != null)
+                action.accept(node.getAnimal());
+            current = node.getRight();
+        }
+    }
+
+    /**
+     * Counts the dinosaurs of the tree.
+     *
+     * @param tree the root of the tree.
+     *             <p>Precondition: ( tree != null )</p>
+     * @return the number of dinosaurs.
+     */
+    public static int count(AbstractTreeNode tree) {
+        int[] count = {0};
+        forEach(tree, animal -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Flattens the tree into an array of all dinosaurs in ascending DNA order.
+     *
+     * <p>The tree is traversed twice: once to count the dinosaurs, once to fill a single array of this size.
+     * So flattening takes O(n) time and allocates nothing but the result (and the traversal stack).</p>
+     *
+     * @param tree the root of the tree.
+     *             <p>Precondition: ( tree != null )</p>
+     * @return an array of the non-null dinosaurs of the tree, sorted by their DNA in ascending order.
+     */
+    public static Dinosaur[] flatten(AbstractTreeNode tree) {
+        Dinosaur[] result = new Dinosaur[count(tree)];
+        int[] index = {0};
+        forEach(tree, animal -> result[index[0]++] = animal);
+        return result;
+    }
+}
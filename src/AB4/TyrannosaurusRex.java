@@ -33,6 +33,19 @@ public class TyrannosaurusRex implements Dinosaur {
         happiness = Happiness.ANGRY;
     }
 
+    /**
+     * Constructor restoring a Tyrannosaurus rex with a given happiness state (e.g. when a saved population is loaded).
+     *
+     * @param dna       integer encoded genetic code for this Tyrannosaurus rex.
+     * @param name      name assigned to this animal at the moment of birth.
+     * @param happiness the current happiness state of this animal.
+     */
+    TyrannosaurusRex(int dna, String name, Happiness happiness) {
+        this.dna = dna;
+        this.name = name;
+        this.happiness = happiness;
+    }
+
     /**
      * Retrieves the DNA sequence associated with this Tyrannosaurus rex instance.
      *
@@ -79,6 +92,18 @@ public class TyrannosaurusRex implements Dinosaur {
      */
     @Override
     public Happiness feed(Food food) {
+        happiness = feed(happiness, food);
+        return happiness;
+    }
+
+    /**
+     * Calculates the happiness state of a Tyrannosaurus rex after being fed (see {@code feed(Food)}).
+     *
+     * @param happiness the happiness state before feeding.
+     * @param food      the food item provided to the dinosaur.
+     * @return the happiness state after feeding.
+     */
+    static Happiness feed(Happiness happiness, Food food) {
         switch (food) {
             case MEAT:
                 happiness = Happiness.HAPPY;
@@ -105,6 +130,17 @@ public class TyrannosaurusRex implements Dinosaur {
      */
     @Override
     public String toString(){
+        return toString(name, happiness);
+    }
+
+    /**
+     * Returns the string representation of a Tyrannosaurus rex (see {@code toString()}).
+     *
+     * @param name      the dino's name.
+     * @param happiness the dino's happiness state.
+     * @return a string combining the species, name, and current danger status indicator.
+     */
+    static String toString(String name, Happiness happiness){
         String dangerStatus = happiness == Happiness.ANGRY ? "[DANGER]" : "[OK]";
         return String.format("%s %s %s", TyrannosaurusRex.TYPE, name, dangerStatus);
     }